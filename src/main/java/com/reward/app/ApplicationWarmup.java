@@ -0,0 +1,115 @@
+package com.reward.app;
+
+import com.reward.app.exception.RewardProcessingException;
+import com.reward.app.response.RewardCalculationResponse;
+import com.reward.app.service.RewardService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Warms up the JIT on the request hot path before the instance reports ready.
+ * <p>
+ * Spring Boot only switches the readiness state to {@code ACCEPTING_TRAFFIC} after every runner
+ * has completed, so running synthetic reward calculations and response serialization here keeps
+ * {@code /actuator/health/readiness} out of service until the hot path has been compiled.
+ * It first waits for the background {@link JsonDataLoader} load, so it calculates rewards for real
+ * customers rather than only the not-found path. The warm-up is read-only and bounded by both an
+ * iteration count and a time budget.
+ * </p>
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class ApplicationWarmup implements CommandLineRunner {
+
+    /** Never registered, so it also exercises the customer-not-found path. */
+    private static final String UNKNOWN_CUSTOMER_ID = "__warmup__";
+
+    private static final int MAX_CUSTOMERS = 16;
+
+    @Autowired
+    private RewardService rewardService;
+
+    @Autowired
+    private HttpMessageConverters messageConverters;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JsonDataLoader jsonDataLoader;
+
+    @Value("${reward.warmup.enabled:false}")
+    private boolean enabled;
+
+    @Value("${reward.warmup.iterations:5000}")
+    private int iterations;
+
+    @Value("${reward.warmup.max-duration-ms:15000}")
+    private long maxDurationMillis;
+
+    @Value("${reward.warmup.load-timeout-ms:300000}")
+    private long loadTimeoutMillis;
+
+    @Override
+    public void run(String... args) {
+        if (!enabled) {
+            return;
+        }
+        if (!jsonDataLoader.awaitLoad(loadTimeoutMillis, TimeUnit.MILLISECONDS)) {
+            System.out.println("Warm-up skipped: initial data load did not complete within " + loadTimeoutMillis + " ms");
+            return;
+        }
+        List<String> customerIds = new ArrayList<>(jdbcTemplate.queryForList(
+                "select external_id from customer order by id limit ?", String.class, MAX_CUSTOMERS));
+        customerIds.add(UNKNOWN_CUSTOMER_ID);
+        List<AbstractJackson2HttpMessageConverter> jacksonConverters = messageConverters.getConverters().stream()
+                .filter(AbstractJackson2HttpMessageConverter.class::isInstance)
+                .map(AbstractJackson2HttpMessageConverter.class::cast)
+                .toList();
+
+        long start = System.nanoTime();
+        long deadline = start + maxDurationMillis * 1_000_000;
+        int completed = 0;
+        while (completed < iterations && System.nanoTime() < deadline) {
+            RewardCalculationResponse response = calculate(customerIds.get(completed % customerIds.size()));
+            serialize(jacksonConverters, response);
+            completed++;
+        }
+        System.out.println("Warm-up completed " + completed + " iterations over " + customerIds.size()
+                + " customers in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+
+    private RewardCalculationResponse calculate(String customerId) {
+        try {
+            return new RewardCalculationResponse(rewardService.getMonthlyRewards(customerId));
+        } catch (RewardProcessingException ex) {
+            return new RewardCalculationResponse(); // Not-found customers serialize an empty response
+        }
+    }
+
+    /**
+     * Round-trips the response through the same object mappers the JSON, CBOR and Smile converters use.
+     */
+    private static void serialize(List<AbstractJackson2HttpMessageConverter> converters, RewardCalculationResponse response) {
+        for (AbstractJackson2HttpMessageConverter converter : converters) {
+            try {
+                byte[] body = converter.getObjectMapper().writeValueAsBytes(response);
+                converter.getObjectMapper().readTree(body);
+            } catch (IOException ex) {
+                throw new IllegalStateException("Warm-up serialization failed for " + converter.getClass().getSimpleName(), ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.reward.app;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Health indicator ({@code dataLoad}) that is part of the readiness group.
+ * <p>
+ * Reports OUT_OF_SERVICE while {@link JsonDataLoader} is running and DOWN if the load failed,
+ * so an instance only receives traffic once its reward data is complete. Liveness does not
+ * include this indicator and reports UP as soon as the context has started.
+ * </p>
+ */
+@Component
+public class DataLoadHealthIndicator implements HealthIndicator {
+
+    private final JsonDataLoader jsonDataLoader;
+
+    public DataLoadHealthIndicator(JsonDataLoader jsonDataLoader) {
+        this.jsonDataLoader = jsonDataLoader;
+    }
+
+    @Override
+    public Health health() {
+        DataLoadProgress progress = jsonDataLoader.getProgress();
+        Health.Builder builder = switch (progress.state()) {
+            case COMPLETED -> Health.up();
+            case FAILED -> Health.down().withDetail("error", String.valueOf(progress.error()));
+            case NOT_STARTED, LOADING -> Health.outOfService();
+        };
+        return builder
+                .withDetail("state", progress.state())
+                .withDetail("loadedTransactions", progress.loadedTransactions())
+                .withDetail("percentComplete", progress.percentComplete())
+                .build();
+    }
+}
@@ -0,0 +1,39 @@
+package com.reward.app;
+
+import com.reward.app.exception.RewardProcessingException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Rejects reward and transaction requests with {@code 503 Service Unavailable} until the initial data load
+ * has completed, instead of computing rewards from missing or partially loaded transactions or importing
+ * rows the load would delete. This covers the window before the load starts and a failed load as well as
+ * the load itself.
+ */
+@Component
+public class DataLoadInterceptor implements HandlerInterceptor {
+
+    private static final String RETRY_AFTER_SECONDS = "5";
+
+    private final JsonDataLoader jsonDataLoader;
+
+    public DataLoadInterceptor(JsonDataLoader jsonDataLoader) {
+        this.jsonDataLoader = jsonDataLoader;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!jsonDataLoader.isCompleted()) {
+            if (jsonDataLoader.getProgress().state() == DataLoadProgress.State.FAILED) {
+                throw new RewardProcessingException("Reward data failed to load", HttpStatus.SERVICE_UNAVAILABLE);
+            }
+            response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+            throw new RewardProcessingException("Reward data is still loading", HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        return true;
+    }
+}
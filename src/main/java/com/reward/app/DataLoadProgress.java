@@ -0,0 +1,34 @@
+package com.reward.app;
+
+import java.time.Instant;
+
+/**
+ * Progress of the initial data load performed by {@link JsonDataLoader}.
+ *
+ * @param state              the load state
+ * @param loadedTransactions the number of transactions committed so far
+ * @param bytesRead          the number of bytes of the data file parsed so far
+ * @param totalBytes         the size of the data file, or {@code -1} if unknown
+ * @param startedAt          when the load started, or {@code null} if it has not started
+ * @param finishedAt         when the load completed or failed, or {@code null} while it is running
+ * @param error              the failure message, or {@code null}
+ */
+public record DataLoadProgress(State state, long loadedTransactions, long bytesRead, long totalBytes,
+                               Instant startedAt, Instant finishedAt, String error) {
+
+    public enum State {
+        NOT_STARTED, LOADING, COMPLETED, FAILED
+    }
+
+    /**
+     * Returns the share of the data file parsed so far.
+     *
+     * @return the percentage between 0 and 100, or {@code -1} if the file size is unknown
+     */
+    public int percentComplete() {
+        if (state == State.COMPLETED) {
+            return 100;
+        }
+        return totalBytes > 0 ? (int) Math.min(100, bytesRead * 100 / totalBytes) : -1;
+    }
+}
@@ -1,49 +1,218 @@
 package com.reward.app;
 
-import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.reward.app.model.Transaction;
 import com.reward.app.repository.TransactionRepository;
-import jakarta.annotation.PostConstruct;
-import jakarta.transaction.Transactional;
+import com.reward.app.service.TransactionArchiveService;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.context.annotation.Profile;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.io.IOException;
-import java.nio.file.Files;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Loads the initial transactions from {@code transactions.json} into the database.
+ * <p>
+ * The load runs in the background so the application starts serving health probes immediately.
+ * The file is parsed as a stream and inserted in parallel chunks, each in its own database
+ * transaction; at most two chunks per loader thread are held in memory. Until the load finishes
+ * the {@link DataLoadHealthIndicator} keeps the readiness probe out of service and
+ * {@link DataLoadInterceptor} rejects reward requests. Transactions of months that
+ * {@link TransactionArchiveService} has archived are skipped, since their archives already hold them.
+ * </p>
+ */
 @Component
-//@Profile("!test")  // Exclude from test environment
 public class JsonDataLoader {
 
+    private static final String DATA_FILE = "transactions.json";
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule()); // Register the module for LocalDate
+
+    private final AtomicLong loadedTransactions = new AtomicLong();
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+
+    private volatile DataLoadProgress.State state = DataLoadProgress.State.NOT_STARTED;
+    private volatile long bytesRead;
+    private volatile long totalBytes = -1;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile String error;
+
     @Autowired
     private TransactionRepository transactionRepository;
 
-   // @PostConstruct  // Runs only in non-test profiles after the bean is created
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TransactionArchiveService archiveService;
+
+    @Value("${reward.loader.threads:4}")
+    private int threads;
+
+    @Value("${reward.loader.chunk-size:1000}")
+    private int chunkSize;
+
+    /**
+     * Starts {@link #loadJsonData()} on a background thread.
+     *
+     * @return a future completed when the load has finished, exceptionally if it failed
+     */
+    public CompletableFuture<Void> loadJsonDataAsync() {
+        Thread loader = new Thread(() -> {
+            try {
+                loadJsonData();
+            } catch (Exception ex) {
+                System.out.println("Initial JSON data load failed: " + ex.getMessage());
+            }
+        }, "json-data-loader");
+        loader.setDaemon(true);
+        loader.start();
+        return completion;
+    }
+
+    /**
+     * Replaces all stored transactions with the contents of {@code transactions.json}.
+     *
+     * @throws IOException if the file cannot be read or parsed
+     */
     public void loadJsonData() throws IOException {
         System.out.println("Loading JSON data...");
-        //if (transactionRepository.count() != 0) {  // Prevent duplicate insertion
+        startedAt = Instant.now();
+        state = DataLoadProgress.State.LOADING;
+        try {
             // 1. Clear old data
             transactionRepository.deleteAll();
             System.out.println(" Old transactions deleted from database.");
 
-            //  2. Load new data from JSON
-            transactionRepository.saveAll(loadTransactionsFromJson());
-            System.out.println(" Initial JSON data loaded into H2 database!");
-       // } else {
-       //     System.out.println(" Data already exists. Skipping JSON load in H2 Database.");
-       // }
+            // 2. Load new data from JSON
+            insertInChunks(new ClassPathResource(DATA_FILE));
+            state = DataLoadProgress.State.COMPLETED;
+            System.out.println(" Initial JSON data loaded into H2 database! (" + loadedTransactions.get() + " transactions in "
+                    + Duration.between(startedAt, Instant.now()).toMillis() + " ms)");
+            completion.complete(null);
+        } catch (IOException | RuntimeException ex) {
+            error = ex.getMessage();
+            state = DataLoadProgress.State.FAILED;
+            completion.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            finishedAt = Instant.now();
+        }
     }
 
-    private List<Transaction> loadTransactionsFromJson() throws IOException {
-        ObjectMapper objectMapper = new ObjectMapper();
-        objectMapper.registerModule(new JavaTimeModule()); //  Register the module for LocalDate
+    /**
+     * Reports whether the initial load has completed successfully.
+     * <p>
+     * Components that write transactions in the background wait for this, because the load
+     * starts by deleting every stored transaction.
+     * </p>
+     *
+     * @return {@code true} once reward data is complete
+     */
+    public boolean isCompleted() {
+        return state == DataLoadProgress.State.COMPLETED;
+    }
+
+    /**
+     * Waits for the initial load to finish.
+     *
+     * @param timeout the maximum time to wait
+     * @param unit    the unit of {@code timeout}
+     * @return {@code true} if the load completed successfully within the timeout
+     */
+    public boolean awaitLoad(long timeout, TimeUnit unit) {
+        try {
+            completion.get(timeout, unit);
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception ex) {
+            return false;
+        }
+    }
+
+    /**
+     * Returns a snapshot of the load progress.
+     *
+     * @return the current progress
+     */
+    public DataLoadProgress getProgress() {
+        return new DataLoadProgress(state, loadedTransactions.get(), bytesRead, totalBytes, startedAt, finishedAt, error);
+    }
+
+    private void insertInChunks(ClassPathResource resource) throws IOException {
+        totalBytes = resource.contentLength();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        Semaphore inFlight = new Semaphore(threads * 2);
+        List<CompletableFuture<Void>> chunks = new ArrayList<>();
+        Set<YearMonth> archivedMonths = archiveService.getArchivedMonths();
+        long archived = 0;
+        try (InputStream in = resource.getInputStream(); // Also works inside a jar
+             JsonParser parser = objectMapper.createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException(DATA_FILE + " must contain a JSON array of transactions");
+            }
+            List<Transaction> chunk = new ArrayList<>(chunkSize);
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                Transaction transaction = objectMapper.readValue(parser, Transaction.class);
+                if (archivedMonths.contains(YearMonth.from(transaction.getTransactionDate()))) {
+                    archived++;
+                } else {
+                    chunk.add(transaction);
+                }
+                if (chunk.size() == chunkSize) {
+                    chunks.add(submit(executor, inFlight, chunk));
+                    chunk = new ArrayList<>(chunkSize);
+                }
+                bytesRead = parser.currentLocation().getByteOffset();
+            }
+            if (!chunk.isEmpty()) {
+                chunks.add(submit(executor, inFlight, chunk));
+            }
+            CompletableFuture.allOf(chunks.toArray(new CompletableFuture[0])).join();
+            if (archived > 0) {
+                System.out.println(" Skipped " + archived + " transactions of archived months.");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while loading " + DATA_FILE, ex);
+        } finally {
+            executor.shutdownNow(); // Only drops queued chunks if the load is failing
+        }
+    }
 
-        String jsonContent = new String(Files.readAllBytes(new ClassPathResource("transactions.json").getFile().toPath()));
-        return objectMapper.readValue(jsonContent, new TypeReference<List<Transaction>>() {});
+    private CompletableFuture<Void> submit(ExecutorService executor, Semaphore inFlight, List<Transaction> chunk)
+            throws InterruptedException {
+        inFlight.acquire();
+        return CompletableFuture.runAsync(() -> {
+            try {
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> transactionRepository.saveAll(chunk));
+                loadedTransactions.addAndGet(chunk.size());
+            } finally {
+                inFlight.release();
+            }
+        }, executor);
     }
 }
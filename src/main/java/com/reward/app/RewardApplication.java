@@ -4,7 +4,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.context.annotation.ComponentScan;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Main entry point for the Reward Application.
@@ -13,7 +15,8 @@ import org.springframework.context.annotation.ComponentScan;
  * </p>
  */
 @SpringBootApplication
-@ComponentScan(basePackages = "com.reward.app")
+@EnableScheduling
+@Order(Ordered.HIGHEST_PRECEDENCE) // Start the data load before other runners, such as the warm-up, wait for it
 public class RewardApplication implements CommandLineRunner {
 
 	@Autowired
@@ -30,6 +33,6 @@ public class RewardApplication implements CommandLineRunner {
 
 	@Override
 	public void run(String... args) throws Exception {
-		jsonDataLoader.loadJsonData(); // Load JSON on startup
+		jsonDataLoader.loadJsonDataAsync(); // Load JSON in the background; readiness waits for it
 	}
 }
@@ -0,0 +1,23 @@
+package com.reward.app;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Spring MVC configuration registering the {@link DataLoadInterceptor} for the reward and transaction endpoints.
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final DataLoadInterceptor dataLoadInterceptor;
+
+    public WebConfig(DataLoadInterceptor dataLoadInterceptor) {
+        this.dataLoadInterceptor = dataLoadInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(dataLoadInterceptor).addPathPatterns("/rewards/**", "/transactions/**");
+    }
+}
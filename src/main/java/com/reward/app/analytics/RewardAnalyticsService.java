@@ -0,0 +1,269 @@
+package com.reward.app.analytics;
+
+import com.reward.app.JsonDataLoader;
+import com.reward.app.dto.MonthlyAnalyticsDTO;
+import com.reward.app.exception.RewardProcessingException;
+import com.reward.app.model.MonthlyAnalytics;
+import com.reward.app.model.Transaction;
+import com.reward.app.pipeline.PointsAccrualPipeline;
+import com.reward.app.repository.MonthlyAnalyticsRepository;
+import com.reward.app.response.RewardAnalyticsResponse;
+import com.reward.app.service.TransactionArchiveService;
+import jakarta.annotation.PostConstruct;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maintains per-month spending and points distributions without scanning the {@code transaction} table.
+ * <p>
+ * Every transaction applied by the {@link PointsAccrualPipeline} is added to a spend {@link TDigest}
+ * and a reward tier counter of its month. Each consumer partition keeps its own sketches, so ingest
+ * never contends across partitions. A scheduled flush merges the partitions' sketches into the
+ * persisted {@link MonthlyAnalytics} row of each month. The points-per-customer digest is only
+ * meaningful once a month's totals are final, so it is written by the month-close snapshot job.
+ * Queries merge the persisted sketches with those not flushed yet.
+ * </p>
+ * <p>
+ * Sketches are insert-only: removed transactions are not subtracted. Archiving does not publish
+ * removals, so archived months keep their analytics. The persisted rows live in the database, which
+ * does not survive a restart: the initial data load feeds the table's transactions through the pipeline
+ * again, and once it completes the spend sketches of archived months are restored from their archives,
+ * which the load does not feed again. Points-per-customer digests return when the month-close job
+ * snapshots those months again.
+ * </p>
+ */
+@Service
+public class RewardAnalyticsService {
+
+    static final int MAX_MONTHS = 36;
+
+    private static final double[] PERCENTILES = {0.5, 0.75, 0.9, 0.95, 0.99};
+
+    private final PointsAccrualPipeline accrualPipeline;
+    private final MonthlyAnalyticsRepository analyticsRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final TransactionArchiveService archiveService;
+    private final JsonDataLoader jsonDataLoader;
+
+    private final Map<Integer, PartitionSketches> partitions = new ConcurrentHashMap<>();
+    /** Sketches of a failed flush, retried with the next one. */
+    private final PartitionSketches unflushed = new PartitionSketches();
+    /** Serializes writers of {@link MonthlyAnalytics} rows. */
+    private final Object writeLock = new Object();
+
+    public RewardAnalyticsService(PointsAccrualPipeline accrualPipeline, MonthlyAnalyticsRepository analyticsRepository,
+                                  PlatformTransactionManager transactionManager, TransactionArchiveService archiveService,
+                                  JsonDataLoader jsonDataLoader) {
+        this.accrualPipeline = accrualPipeline;
+        this.analyticsRepository = analyticsRepository;
+        this.transactionManager = transactionManager;
+        this.archiveService = archiveService;
+        this.jsonDataLoader = jsonDataLoader;
+    }
+
+    @PostConstruct
+    void registerWithPipeline() {
+        accrualPipeline.addAccrualListener(this::accrued);
+    }
+
+    /**
+     * Restores the spend sketches of archived months in the background once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void startArchiveBackfill() {
+        Thread backfill = new Thread(this::backfillArchivedMonths, "analytics-backfill");
+        backfill.setDaemon(true);
+        backfill.start();
+    }
+
+    /**
+     * Adds the archived transactions to the sketches of their months. Waits for the initial data load
+     * first, so reading the archives does not slow it down.
+     */
+    void backfillArchivedMonths() {
+        if (!jsonDataLoader.awaitLoad(Long.MAX_VALUE, TimeUnit.MILLISECONDS)) {
+            System.out.println("Initial data load did not complete; not restoring analytics of archived months");
+            return;
+        }
+        int restored = 0;
+        try {
+            for (YearMonth month : archiveService.getArchivedMonths()) {
+                for (Transaction transaction : archiveService.findArchivedTransactions(null, month)) {
+                    unflushed.add(month, transaction.getAmountSpent());
+                    restored++;
+                }
+            }
+        } catch (RuntimeException ex) {
+            System.out.println("Restoring analytics of archived months failed: " + ex.getMessage());
+        }
+        System.out.println("Restored analytics of " + restored + " archived transactions.");
+    }
+
+    void accrued(int partition, String customerId, double amountSpent, LocalDate transactionDate, int sign) {
+        if (sign > 0) {
+            partitions.computeIfAbsent(partition, p -> new PartitionSketches()).add(YearMonth.from(transactionDate), amountSpent);
+        }
+    }
+
+    /**
+     * Merges the sketches accumulated since the last flush into the persisted months.
+     */
+    @Scheduled(fixedDelayString = "${reward.analytics.flush-ms:60000}")
+    public void flush() {
+        Map<YearMonth, SpendDistribution> drained = new HashMap<>();
+        unflushed.drainInto(drained);
+        partitions.values().forEach(sketches -> sketches.drainInto(drained));
+        if (drained.isEmpty()) {
+            return;
+        }
+        try {
+            synchronized (writeLock) {
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> drained.forEach((month, distribution) -> {
+                    MonthlyAnalytics analytics = analyticsRepository.findById(month.toString())
+                            .orElseGet(() -> new MonthlyAnalytics(month.toString()));
+                    SpendDistribution merged = SpendDistribution.of(analytics);
+                    merged.merge(distribution);
+                    merged.writeTo(analytics);
+                    analyticsRepository.save(analytics);
+                }));
+            }
+        } catch (RuntimeException ex) {
+            unflushed.addAll(drained);
+            System.out.println("Analytics flush failed, retrying with the next flush: " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Records the final points of every customer active in a closed month.
+     * <p>
+     * Joins the caller's transaction, so the digest commits together with the month's snapshots.
+     * </p>
+     *
+     * @param month  the closed month
+     * @param points the month's points of each active customer
+     */
+    public void recordCustomerPoints(YearMonth month, Collection<Integer> points) {
+        TDigest digest = new TDigest();
+        points.forEach(digest::add);
+        synchronized (writeLock) {
+            MonthlyAnalytics analytics = analyticsRepository.findById(month.toString())
+                    .orElseGet(() -> new MonthlyAnalytics(month.toString()));
+            analytics.setCustomerCount(points.size());
+            analytics.setCustomerPointsDigest(digest.toBytes());
+            analyticsRepository.save(analytics);
+        }
+    }
+
+    /**
+     * Returns the distributions of a range of months, inclusive.
+     *
+     * @param from the first month
+     * @param to   the last month
+     * @return one entry per month with any transactions, in month order
+     * @throws RewardProcessingException if the range is reversed or longer than {@value #MAX_MONTHS} months
+     */
+    public RewardAnalyticsResponse getAnalytics(YearMonth from, YearMonth to) {
+        if (from.isAfter(to)) {
+            throw new RewardProcessingException("from must not be after to", HttpStatus.BAD_REQUEST);
+        }
+        if (ChronoUnit.MONTHS.between(from, to) >= MAX_MONTHS) {
+            throw new RewardProcessingException("At most " + MAX_MONTHS + " months can be requested", HttpStatus.BAD_REQUEST);
+        }
+        Map<YearMonth, SpendDistribution> spend = new TreeMap<>();
+        Map<YearMonth, MonthlyAnalytics> persisted = new HashMap<>();
+        for (MonthlyAnalytics analytics : analyticsRepository.findByMonthBetween(from.toString(), to.toString())) {
+            YearMonth month = YearMonth.parse(analytics.getMonth());
+            persisted.put(month, analytics);
+            spend.put(month, SpendDistribution.of(analytics));
+        }
+        unflushed.copyInto(spend, from, to);
+        partitions.values().forEach(sketches -> sketches.copyInto(spend, from, to));
+
+        List<MonthlyAnalyticsDTO> months = new ArrayList<>();
+        spend.forEach((month, distribution) -> {
+            if (distribution.getTransactionCount() > 0) {
+                months.add(toDto(month, distribution, persisted.get(month)));
+            }
+        });
+        return new RewardAnalyticsResponse(months);
+    }
+
+    private static MonthlyAnalyticsDTO toDto(YearMonth month, SpendDistribution distribution, MonthlyAnalytics persisted) {
+        long transactions = distribution.getTransactionCount();
+        Map<String, Double> tierShare = new LinkedHashMap<>();
+        tierShare.put("upTo50", share(distribution.getTierCount(0), transactions));
+        tierShare.put("over50To100", share(distribution.getTierCount(1), transactions));
+        tierShare.put("over100", share(distribution.getTierCount(2), transactions));
+
+        Long customers = null;
+        Map<String, Double> customerPoints = null;
+        if (persisted != null && persisted.getCustomerPointsDigest() != null) {
+            customers = persisted.getCustomerCount();
+            customerPoints = percentiles(TDigest.fromBytes(persisted.getCustomerPointsDigest()));
+        }
+        return new MonthlyAnalyticsDTO(month.toString(), transactions, percentiles(distribution.getSpend()),
+                tierShare, customers, customerPoints);
+    }
+
+    private static Map<String, Double> percentiles(TDigest digest) {
+        Map<String, Double> percentiles = new LinkedHashMap<>();
+        for (double q : PERCENTILES) {
+            percentiles.put("p" + Math.round(q * 100), Math.round(digest.quantile(q) * 100) / 100.0);
+        }
+        return percentiles;
+    }
+
+    private static double share(long count, long total) {
+        return Math.round(count * 10_000.0 / total) / 10_000.0;
+    }
+
+    /**
+     * Spend sketches of one consumer partition, by month. Only the partition's consumer thread adds to
+     * them; the monitor is contended only while a flush or query copies them.
+     */
+    private static final class PartitionSketches {
+
+        private final Map<YearMonth, SpendDistribution> months = new HashMap<>();
+
+        synchronized void add(YearMonth month, double amountSpent) {
+            months.computeIfAbsent(month, m -> new SpendDistribution()).add(amountSpent);
+        }
+
+        synchronized void addAll(Map<YearMonth, SpendDistribution> distributions) {
+            distributions.forEach((month, distribution) ->
+                    months.computeIfAbsent(month, m -> new SpendDistribution()).merge(distribution));
+        }
+
+        synchronized void drainInto(Map<YearMonth, SpendDistribution> target) {
+            months.forEach((month, distribution) ->
+                    target.computeIfAbsent(month, m -> new SpendDistribution()).merge(distribution));
+            months.clear();
+        }
+
+        synchronized void copyInto(Map<YearMonth, SpendDistribution> target, YearMonth from, YearMonth to) {
+            months.forEach((month, distribution) -> {
+                if (!month.isBefore(from) && !month.isAfter(to)) {
+                    target.computeIfAbsent(month, m -> new SpendDistribution()).merge(distribution);
+                }
+            });
+        }
+    }
+}
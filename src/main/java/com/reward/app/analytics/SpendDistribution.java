@@ -0,0 +1,78 @@
+package com.reward.app.analytics;
+
+import com.reward.app.model.MonthlyAnalytics;
+
+/**
+ * Mergeable spend sketch of one month: a digest of amounts per transaction plus counts per reward tier.
+ * <p>
+ * Not thread-safe; each instance is owned by one consumer partition or one flush.
+ * </p>
+ */
+final class SpendDistribution {
+
+    private final TDigest spend;
+    private final long[] tierCounts = new long[3];
+
+    SpendDistribution() {
+        this(new TDigest());
+    }
+
+    private SpendDistribution(TDigest spend) {
+        this.spend = spend;
+    }
+
+    /**
+     * Reads the spend sketch of a persisted month.
+     */
+    static SpendDistribution of(MonthlyAnalytics analytics) {
+        SpendDistribution distribution = new SpendDistribution(
+                analytics.getSpendDigest() == null ? new TDigest() : TDigest.fromBytes(analytics.getSpendDigest()));
+        distribution.tierCounts[0] = analytics.getBaseTierTransactions();
+        distribution.tierCounts[1] = analytics.getFirstTierTransactions();
+        distribution.tierCounts[2] = analytics.getSecondTierTransactions();
+        return distribution;
+    }
+
+    /**
+     * Returns the reward tier of an amount, following {@link com.reward.app.service.RewardPointsCalculator}:
+     * 0 up to $50, 1 up to $100 and 2 above.
+     */
+    static int tierOf(double amountSpent) {
+        return amountSpent > 100 ? 2 : amountSpent > 50 ? 1 : 0;
+    }
+
+    void add(double amountSpent) {
+        spend.add(amountSpent);
+        tierCounts[tierOf(amountSpent)]++;
+    }
+
+    void merge(SpendDistribution other) {
+        spend.merge(other.spend);
+        for (int tier = 0; tier < tierCounts.length; tier++) {
+            tierCounts[tier] += other.tierCounts[tier];
+        }
+    }
+
+    TDigest getSpend() {
+        return spend;
+    }
+
+    long getTierCount(int tier) {
+        return tierCounts[tier];
+    }
+
+    long getTransactionCount() {
+        return tierCounts[0] + tierCounts[1] + tierCounts[2];
+    }
+
+    /**
+     * Writes the sketch into a persisted month, replacing its spend digest and tier counters.
+     */
+    void writeTo(MonthlyAnalytics analytics) {
+        analytics.setSpendDigest(spend.toBytes());
+        analytics.setBaseTierTransactions(tierCounts[0]);
+        analytics.setFirstTierTransactions(tierCounts[1]);
+        analytics.setSecondTierTransactions(tierCounts[2]);
+        analytics.setTransactionCount(getTransactionCount());
+    }
+}
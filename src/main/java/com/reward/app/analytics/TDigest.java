@@ -0,0 +1,243 @@
+package com.reward.app.analytics;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Mergeable quantile sketch (merging t-digest).
+ * <p>
+ * Values are summarized by at most a few hundred weighted centroids, so memory and the serialized
+ * size are bounded by the compression regardless of how many values are added. Centroids are small
+ * near the tails and large around the median, which keeps extreme quantiles such as p99 accurate.
+ * Two digests built over disjoint inputs merge into a digest of the combined input, which is what lets
+ * partial digests from consumer partitions and flush intervals be combined.
+ * </p>
+ * <p>
+ * Instances are not thread-safe.
+ * </p>
+ */
+public final class TDigest {
+
+    /** Default compression: roughly 1% rank error in the middle, much less at the tails. */
+    public static final double DEFAULT_COMPRESSION = 100;
+
+    private final double compression;
+    private double[] means;
+    private double[] weights;
+    private int centroids;
+
+    private final double[] bufferMeans;
+    private final double[] bufferWeights;
+    private int buffered;
+
+    private double totalWeight;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    public TDigest() {
+        this(DEFAULT_COMPRESSION);
+    }
+
+    public TDigest(double compression) {
+        this.compression = compression;
+        int capacity = (int) Math.ceil(compression * Math.PI / 2) + 10;
+        this.means = new double[capacity];
+        this.weights = new double[capacity];
+        this.bufferMeans = new double[(int) (compression * 5)];
+        this.bufferWeights = new double[bufferMeans.length];
+    }
+
+    /**
+     * Adds one value.
+     *
+     * @param value the value
+     */
+    public void add(double value) {
+        add(value, 1);
+    }
+
+    /**
+     * Merges another digest into this one. The other digest is left unchanged apart from being compressed.
+     *
+     * @param other the digest to merge
+     */
+    public void merge(TDigest other) {
+        other.compress();
+        for (int i = 0; i < other.centroids; i++) {
+            add(other.means[i], other.weights[i]);
+        }
+        if (other.totalWeight > 0) {
+            min = Math.min(min, other.min);
+            max = Math.max(max, other.max);
+        }
+    }
+
+    /**
+     * Estimates the value at a quantile.
+     *
+     * @param q the quantile, between 0 and 1
+     * @return the estimated value, or {@link Double#NaN} if the digest is empty
+     */
+    public double quantile(double q) {
+        if (q < 0 || q > 1) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1: " + q);
+        }
+        compress();
+        if (centroids == 0) {
+            return Double.NaN;
+        }
+        if (centroids == 1 || q == 0) {
+            return centroids == 1 ? means[0] : min;
+        }
+        if (q == 1) {
+            return max;
+        }
+        double index = q * totalWeight;
+        if (index < weights[0] / 2) {
+            return min + (means[0] - min) * index / (weights[0] / 2);
+        }
+        double cumulative = weights[0] / 2;
+        for (int i = 0; i < centroids - 1; i++) {
+            double step = (weights[i] + weights[i + 1]) / 2;
+            if (cumulative + step > index) {
+                return means[i] + (means[i + 1] - means[i]) * (index - cumulative) / step;
+            }
+            cumulative += step;
+        }
+        int last = centroids - 1;
+        return means[last] + (max - means[last]) * Math.min(1, (index - cumulative) / (weights[last] / 2));
+    }
+
+    /**
+     * Returns the number of values added, including merged digests.
+     *
+     * @return the total weight
+     */
+    public long size() {
+        return Math.round(totalWeight);
+    }
+
+    /**
+     * Serializes the digest compactly: a header followed by one mean and weight per centroid.
+     *
+     * @return the encoded digest
+     */
+    public byte[] toBytes() {
+        compress();
+        ByteBuffer buffer = ByteBuffer.allocate(4 + 8 * 3 + centroids * 16);
+        buffer.putInt(centroids).putDouble(compression).putDouble(min).putDouble(max);
+        for (int i = 0; i < centroids; i++) {
+            buffer.putDouble(means[i]).putDouble(weights[i]);
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Restores a digest written by {@link #toBytes()}.
+     *
+     * @param bytes the encoded digest
+     * @return the digest
+     */
+    public static TDigest fromBytes(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        int count = buffer.getInt();
+        TDigest digest = new TDigest(buffer.getDouble());
+        digest.min = buffer.getDouble();
+        digest.max = buffer.getDouble();
+        digest.ensureCapacity(count);
+        for (int i = 0; i < count; i++) {
+            digest.means[i] = buffer.getDouble();
+            digest.weights[i] = buffer.getDouble();
+            digest.totalWeight += digest.weights[i];
+        }
+        digest.centroids = count;
+        return digest;
+    }
+
+    private void add(double mean, double weight) {
+        if (Double.isNaN(mean)) {
+            throw new IllegalArgumentException("Cannot add NaN to a digest");
+        }
+        if (buffered == bufferMeans.length) {
+            compress();
+        }
+        bufferMeans[buffered] = mean;
+        bufferWeights[buffered] = weight;
+        buffered++;
+        totalWeight += weight;
+        min = Math.min(min, mean);
+        max = Math.max(max, mean);
+    }
+
+    /**
+     * Merges buffered values into the centroids. Adjacent centroids (in mean order) are combined while
+     * the combined centroid spans at most one unit of the scale function {@link #scale(double)}.
+     */
+    private void compress() {
+        if (buffered == 0) {
+            return;
+        }
+        int n = centroids + buffered;
+        double[] allMeans = Arrays.copyOf(means, n);
+        double[] allWeights = Arrays.copyOf(weights, n);
+        System.arraycopy(bufferMeans, 0, allMeans, centroids, buffered);
+        System.arraycopy(bufferWeights, 0, allWeights, centroids, buffered);
+        buffered = 0;
+        sortByMean(allMeans, allWeights, n);
+
+        centroids = 0;
+        double mean = allMeans[0];
+        double weight = allWeights[0];
+        double weightSoFar = 0;
+        double scaleLeft = scale(0);
+        for (int i = 1; i < n; i++) {
+            double proposed = weight + allWeights[i];
+            if (scale((weightSoFar + proposed) / totalWeight) - scaleLeft <= 1) {
+                mean += (allMeans[i] - mean) * allWeights[i] / proposed;
+                weight = proposed;
+            } else {
+                emit(mean, weight);
+                weightSoFar += weight;
+                scaleLeft = scale(weightSoFar / totalWeight);
+                mean = allMeans[i];
+                weight = allWeights[i];
+            }
+        }
+        emit(mean, weight);
+    }
+
+    private void emit(double mean, double weight) {
+        ensureCapacity(centroids + 1);
+        means[centroids] = mean;
+        weights[centroids] = weight;
+        centroids++;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > means.length) {
+            means = Arrays.copyOf(means, Math.max(capacity, means.length * 2));
+            weights = Arrays.copyOf(weights, means.length);
+        }
+    }
+
+    /** The k1 scale function: centroid size is proportional to {@code sqrt(q(1 - q))}. */
+    private double scale(double q) {
+        return compression / (2 * Math.PI) * Math.asin(2 * Math.min(1, q) - 1);
+    }
+
+    private static void sortByMean(double[] means, double[] weights, int n) {
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(means[a], means[b]));
+        double[] sortedMeans = new double[n];
+        double[] sortedWeights = new double[n];
+        for (int i = 0; i < n; i++) {
+            sortedMeans[i] = means[order[i]];
+            sortedWeights[i] = weights[order[i]];
+        }
+        System.arraycopy(sortedMeans, 0, means, 0, n);
+        System.arraycopy(sortedWeights, 0, weights, 0, n);
+    }
+}
@@ -0,0 +1,61 @@
+package com.reward.app.controller;
+
+import com.reward.app.analytics.RewardAnalyticsService;
+import com.reward.app.exception.RewardProcessingException;
+import com.reward.app.response.RewardAnalyticsResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.YearMonth;
+
+/**
+ * REST Controller for monthly spending and points distribution analytics.
+ * <p>
+ * Answers from pre-aggregated sketches, so analytics queries never scan the transaction table.
+ * </p>
+ */
+@RestController
+@RequestMapping("/rewards")
+class RewardAnalyticsController {
+
+    private final RewardAnalyticsService analyticsService;
+
+    /**
+     * Constructs a new {@code RewardAnalyticsController} and injects the required {@link RewardAnalyticsService}.
+     *
+     * @param analyticsService the service that maintains the monthly sketches
+     */
+    @Autowired
+    RewardAnalyticsController(RewardAnalyticsService analyticsService) {
+        this.analyticsService = analyticsService;
+    }
+
+    /**
+     * Returns spend percentiles, reward tier shares and, for closed months, points-per-customer percentiles.
+     *
+     * @param from the first month, {@code yyyy-MM}; defaults to two months before {@code to}
+     * @param to   the last month, {@code yyyy-MM}; defaults to the current month
+     * @return a {@link ResponseEntity} containing one entry per month with transactions
+     * @throws RewardProcessingException if the month range is invalid
+     */
+    @GetMapping("/analytics")
+    public ResponseEntity<RewardAnalyticsResponse> getAnalytics(
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth to) {
+        YearMonth lastMonth = to == null ? YearMonth.now() : to;
+        YearMonth firstMonth = from == null ? lastMonth.minusMonths(2) : from;
+        try {
+            return ResponseEntity.ok(analyticsService.getAnalytics(firstMonth, lastMonth));
+        } catch (RewardProcessingException ex) {
+            throw ex; // Rethrow to be handled by GlobalExceptionHandler
+        } catch (Exception ex) {
+            throw new RewardProcessingException("Internal Server Error", HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+}
@@ -4,13 +4,17 @@ import com.reward.app.exception.RewardProcessingException;
 import com.reward.app.response.RewardCalculationResponse;
 import com.reward.app.service.RewardService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDate;
+
 /**
  * REST Controller for handling customer reward calculations.
  * <p>
@@ -42,13 +46,15 @@ class RewardController {
      * </p>
      *
      * @param customerId the unique identifier of the customer whose rewards are to be calculated
+     * @param asOf       optional past date on which the three-month window ends, for point-in-time lookups
      * @return a {@link ResponseEntity} containing {@link RewardCalculationResponse},
      * which includes the total and monthly reward details
      * @throws RewardProcessingException if an error occurs while processing the customer's transactions
      */
     @GetMapping("/calculate/{customerId}")
     public ResponseEntity<RewardCalculationResponse> calculateRewards(
-            @PathVariable(required = false) String customerId) {
+            @PathVariable(required = false) String customerId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf) {
         System.out.println("Controller method called: customerId = " + customerId);
 
         if (customerId == null || customerId.trim().isEmpty()) {
@@ -56,7 +62,9 @@ class RewardController {
         }
 
         try {
-            return ResponseEntity.ok(new RewardCalculationResponse(rewardService.getMonthlyRewards(customerId)));
+            return ResponseEntity.ok(new RewardCalculationResponse(asOf == null
+                    ? rewardService.getMonthlyRewards(customerId)
+                    : rewardService.getMonthlyRewards(customerId, asOf)));
         } catch (RewardProcessingException ex) {
             throw ex; // Rethrow to be handled by GlobalExceptionHandler
         } catch (Exception ex) {
@@ -0,0 +1,58 @@
+package com.reward.app.controller;
+
+import com.reward.app.exception.RewardProcessingException;
+import com.reward.app.request.RewardSimulationRequest;
+import com.reward.app.response.RewardSimulationResponse;
+import com.reward.app.service.RewardSimulationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST Controller for "what-if" simulations of candidate reward rules.
+ * <p>
+ * Lets analysts compare alternative tier thresholds and multipliers against the full transaction
+ * history before a rule change goes live. Simulations are read-only.
+ * </p>
+ */
+@RestController
+@RequestMapping("/rewards")
+class RewardSimulationController {
+
+    private final RewardSimulationService simulationService;
+
+    /**
+     * Constructs a new {@code RewardSimulationController} and injects the required {@link RewardSimulationService}.
+     *
+     * @param simulationService the service that evaluates candidate rule sets
+     */
+    @Autowired
+    RewardSimulationController(RewardSimulationService simulationService) {
+        this.simulationService = simulationService;
+    }
+
+    /**
+     * Evaluates candidate rule sets against every stored transaction.
+     *
+     * @param request the candidate rule sets
+     * @return a {@link ResponseEntity} containing each rule set's monthly points and delta against the current rules
+     * @throws RewardProcessingException if the request is empty or a rule set is invalid
+     */
+    @PostMapping("/simulate")
+    public ResponseEntity<RewardSimulationResponse> simulate(@RequestBody RewardSimulationRequest request) {
+        if (request == null) {
+            throw new RewardProcessingException("Simulation request cannot be empty", HttpStatus.BAD_REQUEST);
+        }
+        try {
+            return ResponseEntity.ok(simulationService.simulate(request.getRuleSets()));
+        } catch (RewardProcessingException ex) {
+            throw ex; // Rethrow to be handled by GlobalExceptionHandler
+        } catch (Exception ex) {
+            throw new RewardProcessingException("Internal Server Error", HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.reward.app.controller;
+
+import com.reward.app.exception.RewardProcessingException;
+import com.reward.app.stream.RewardStreamService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * REST Controller streaming live reward point changes as server-sent events.
+ * <p>
+ * Replaces dashboard polling of {@code /rewards/calculate/{customerId}}: the stream sends the
+ * current rewards on connect and a new {@code rewards} event only when they change.
+ * </p>
+ */
+@RestController
+@RequestMapping("/rewards")
+class RewardStreamController {
+
+    private final RewardStreamService streamService;
+    private final long streamTimeoutMillis;
+
+    /**
+     * Constructs a new {@code RewardStreamController}.
+     *
+     * @param streamService       the service that fans reward changes out to subscribers
+     * @param streamTimeoutMillis how long a stream stays open before the client has to reconnect
+     */
+    @Autowired
+    RewardStreamController(RewardStreamService streamService,
+                           @Value("${reward.stream.timeout-ms:1800000}") long streamTimeoutMillis) {
+        this.streamService = streamService;
+        this.streamTimeoutMillis = streamTimeoutMillis;
+    }
+
+    /**
+     * Opens an event stream of a customer's reward points.
+     *
+     * @param customerId the unique identifier of the customer
+     * @return the emitter backing the event stream
+     * @throws RewardProcessingException if the customer ID is empty or the node has no stream capacity left
+     */
+    @GetMapping(path = "/stream/{customerId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamRewards(@PathVariable String customerId) {
+        if (customerId == null || customerId.trim().isEmpty()) {
+            throw new RewardProcessingException("Customer ID cannot be null or empty", HttpStatus.BAD_REQUEST);
+        }
+        SseEmitter emitter = new SseEmitter(streamTimeoutMillis);
+        streamService.subscribe(customerId, emitter);
+        return emitter;
+    }
+}
@@ -0,0 +1,109 @@
+package com.reward.app.controller;
+
+import com.reward.app.exception.RewardProcessingException;
+import com.reward.app.journal.TransactionJournal;
+import com.reward.app.model.Transaction;
+import com.reward.app.response.ImportSummaryResponse;
+import com.reward.app.response.TransactionAcceptedResponse;
+import com.reward.app.service.TransactionImportService;
+import com.reward.app.service.TransactionValidator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.InputStream;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * REST Controller for ingesting customer transactions.
+ * <p>
+ * Transactions are acknowledged once they are durable in the {@link TransactionJournal};
+ * they become visible to reward calculations after the journal has been replayed into the database.
+ * </p>
+ */
+@RestController
+@RequestMapping("/transactions")
+class TransactionController {
+
+    private static final long JOURNAL_ACK_TIMEOUT_SECONDS = 5;
+
+    private static final String NDJSON_VALUE = "application/x-ndjson";
+
+    private final TransactionJournal transactionJournal;
+    private final TransactionImportService importService;
+
+    /**
+     * Constructs a new {@code TransactionController} and injects its dependencies.
+     *
+     * @param transactionJournal the journal that durably records incoming transactions
+     * @param importService      the service that bulk-imports uploaded transaction files
+     */
+    @Autowired
+    TransactionController(TransactionJournal transactionJournal, TransactionImportService importService) {
+        this.transactionJournal = transactionJournal;
+        this.importService = importService;
+    }
+
+    /**
+     * Records a single transaction.
+     *
+     * @param transaction the transaction to record
+     * @return a {@link ResponseEntity} with HTTP status {@code ACCEPTED} and the journal position of the record
+     * @throws RewardProcessingException if the transaction is invalid or could not be made durable
+     */
+    @PostMapping
+    public ResponseEntity<TransactionAcceptedResponse> recordTransaction(@RequestBody Transaction transaction) {
+        validate(transaction);
+        transaction.setId(null);
+
+        try {
+            long position = transactionJournal.append(transaction).get(JOURNAL_ACK_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(new TransactionAcceptedResponse(transaction.getCustomerId(), position));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new RewardProcessingException("Transaction could not be recorded", ex, HttpStatus.SERVICE_UNAVAILABLE);
+        } catch (ExecutionException | TimeoutException ex) {
+            throw new RewardProcessingException("Transaction could not be recorded", ex, HttpStatus.SERVICE_UNAVAILABLE);
+        }
+    }
+
+    /**
+     * Bulk-imports a CSV upload with a {@code customerId,amountSpent,transactionDate} header.
+     * <p>
+     * The body is streamed row by row; imported rows are immediately visible to reward calculations.
+     * </p>
+     *
+     * @param body the raw request body
+     * @return a {@link ResponseEntity} containing the accepted and rejected row counts and throughput
+     * @throws RewardProcessingException if the upload is malformed or could not be written
+     */
+    @PostMapping(path = "/import", consumes = "text/csv")
+    public ResponseEntity<ImportSummaryResponse> importCsv(InputStream body) {
+        return ResponseEntity.ok(importService.importTransactions(body, TransactionImportService.Format.CSV));
+    }
+
+    /**
+     * Bulk-imports an NDJSON upload with one transaction object per line.
+     *
+     * @param body the raw request body
+     * @return a {@link ResponseEntity} containing the accepted and rejected row counts and throughput
+     * @throws RewardProcessingException if the upload could not be read or written
+     */
+    @PostMapping(path = "/import", consumes = NDJSON_VALUE)
+    public ResponseEntity<ImportSummaryResponse> importNdjson(InputStream body) {
+        return ResponseEntity.ok(importService.importTransactions(body, TransactionImportService.Format.NDJSON));
+    }
+
+    private static void validate(Transaction transaction) {
+        TransactionValidator.validate(transaction).ifPresent(reason -> {
+            throw new RewardProcessingException(reason, HttpStatus.BAD_REQUEST);
+        });
+    }
+}
@@ -0,0 +1,38 @@
+package com.reward.app.diagnostics;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Installs the JDBC and Hibernate hooks that feed {@link RequestDiagnostics}.
+ */
+@Configuration
+public class DiagnosticsConfig {
+
+    /**
+     * Wraps the application data source in a {@link DiagnosticsDataSource} before JPA and
+     * {@code JdbcTemplate} are wired to it.
+     */
+    @Bean
+    static BeanPostProcessor diagnosticsDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof DiagnosticsDataSource)) {
+                    return new DiagnosticsDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    HibernatePropertiesCustomizer entityLoadInterceptorCustomizer() {
+        return properties -> properties.put(AvailableSettings.INTERCEPTOR, new EntityLoadInterceptor());
+    }
+}
@@ -0,0 +1,145 @@
+package com.reward.app.diagnostics;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Data source that profiles the JDBC work of requests running with {@link RequestDiagnostics}.
+ * <p>
+ * Connections handed out while diagnostics are on are wrapped in proxies that time statement
+ * executions and result set fetches and capture bind parameters for the slow-query log. All other
+ * connections are returned from the pool unwrapped, so JPA, {@code JdbcTemplate} and background jobs
+ * run at full speed when diagnostics are off.
+ * </p>
+ */
+class DiagnosticsDataSource extends DelegatingDataSource {
+
+    DiagnosticsDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return profile(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return profile(super.getConnection(username, password));
+    }
+
+    private static Connection profile(Connection connection) {
+        RequestDiagnostics diagnostics = RequestDiagnostics.current();
+        if (diagnostics == null) {
+            return connection;
+        }
+        return proxy(Connection.class, connection, (target, method, args) -> {
+            Object result = invoke(target, method, args);
+            if (result instanceof Statement statement) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+                return proxy(statementType(statement), statement, new StatementProfiler(diagnostics, sql));
+            }
+            return result;
+        });
+    }
+
+    private static Class<? extends Statement> statementType(Statement statement) {
+        if (statement instanceof CallableStatement) {
+            return CallableStatement.class;
+        }
+        return statement instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+    }
+
+    /**
+     * Times executions of one statement and wraps the result sets it returns.
+     */
+    private static final class StatementProfiler implements TargetInvocationHandler {
+
+        private final RequestDiagnostics diagnostics;
+        private final String preparedSql;
+        private final Map<Integer, Object> parameters = new TreeMap<>();
+
+        StatementProfiler(RequestDiagnostics diagnostics, String preparedSql) {
+            this.diagnostics = diagnostics;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : preparedSql;
+                long start = System.nanoTime();
+                try {
+                    return wrapResultSet(DiagnosticsDataSource.invoke(target, method, args));
+                } finally {
+                    diagnostics.recordStatement(sql, parameters, System.nanoTime() - start);
+                }
+            }
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                parameters.put(index, name.equals("setNull") ? null : args[1]);
+            } else if (name.equals("clearParameters")) {
+                parameters.clear();
+            }
+            return wrapResultSet(DiagnosticsDataSource.invoke(target, method, args));
+        }
+
+        private Object wrapResultSet(Object result) {
+            if (!(result instanceof ResultSet resultSet)) {
+                return result;
+            }
+            return proxy(ResultSet.class, resultSet, (target, method, args) -> {
+                if (!method.getName().equals("next")) {
+                    return DiagnosticsDataSource.invoke(target, method, args);
+                }
+                long start = System.nanoTime();
+                boolean fetched = false;
+                try {
+                    fetched = (Boolean) DiagnosticsDataSource.invoke(target, method, args);
+                    return fetched;
+                } finally {
+                    diagnostics.recordFetch(fetched, System.nanoTime() - start);
+                }
+            });
+        }
+    }
+
+    /**
+     * Invocation handler that is given the proxied object instead of the proxy.
+     */
+    @FunctionalInterface
+    private interface TargetInvocationHandler {
+        Object invoke(Object target, Method method, Object[] args) throws Throwable;
+    }
+
+    private static <T> T proxy(Class<T> type, Object target, TargetInvocationHandler handler) {
+        InvocationHandler invocationHandler = (proxy, method, args) -> switch (method.getName()) {
+            case "equals" -> proxy == args[0];
+            case "hashCode" -> System.identityHashCode(proxy);
+            default -> handler.invoke(target, method, args);
+        };
+        return type.cast(Proxy.newProxyInstance(DiagnosticsDataSource.class.getClassLoader(),
+                new Class<?>[]{type}, invocationHandler));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getTargetException();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.reward.app.diagnostics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+
+/**
+ * Profiles {@code /rewards} requests and returns the profile in a {@code Server-Timing} header.
+ * <p>
+ * Diagnostics are enabled for every request with {@code reward.diagnostics.enabled}, or for a single
+ * request with the {@code X-Reward-Diagnostics: true} header if {@code reward.diagnostics.header-enabled}
+ * is on. Both default to off because a profiled request also logs the bind parameters of its slow
+ * queries; the dev profile turns the header on. The body of a profiled response is buffered so the
+ * header, which includes the serialization time, can still be set after the body is written. Event
+ * streams are never profiled.
+ * </p>
+ */
+@Component
+public class DiagnosticsFilter extends OncePerRequestFilter {
+
+    static final String DIAGNOSTICS_HEADER = "X-Reward-Diagnostics";
+    static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    private final boolean enabled;
+    private final boolean headerEnabled;
+    private final long slowQueryMillis;
+
+    public DiagnosticsFilter(@Value("${reward.diagnostics.enabled:false}") boolean enabled,
+                             @Value("${reward.diagnostics.header-enabled:false}") boolean headerEnabled,
+                             @Value("${reward.diagnostics.slow-query-ms:50}") long slowQueryMillis) {
+        this.enabled = enabled;
+        this.headerEnabled = headerEnabled;
+        this.slowQueryMillis = slowQueryMillis;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (!path.startsWith("/rewards/") || path.startsWith("/rewards/stream/")) {
+            return true;
+        }
+        return !enabled && !(headerEnabled && Boolean.parseBoolean(request.getHeader(DIAGNOSTICS_HEADER)));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestDiagnostics diagnostics = new RequestDiagnostics(slowQueryMillis);
+        ContentCachingResponseWrapper bufferedResponse = new ContentCachingResponseWrapper(response);
+        RequestDiagnostics.bind(diagnostics);
+        try {
+            chain.doFilter(request, bufferedResponse);
+        } finally {
+            RequestDiagnostics.unbind();
+            bufferedResponse.setHeader(SERVER_TIMING_HEADER, diagnostics.toServerTiming());
+            bufferedResponse.copyBodyToResponse();
+        }
+    }
+}
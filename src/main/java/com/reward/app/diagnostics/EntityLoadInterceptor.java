@@ -0,0 +1,19 @@
+package com.reward.app.diagnostics;
+
+import org.hibernate.Interceptor;
+import org.hibernate.type.Type;
+
+/**
+ * Session factory interceptor that counts entities hydrated for requests running with {@link RequestDiagnostics}.
+ */
+class EntityLoadInterceptor implements Interceptor {
+
+    @Override
+    public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+        RequestDiagnostics diagnostics = RequestDiagnostics.current();
+        if (diagnostics != null) {
+            diagnostics.recordEntityLoaded();
+        }
+        return false;
+    }
+}
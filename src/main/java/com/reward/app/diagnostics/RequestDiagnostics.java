@@ -0,0 +1,138 @@
+package com.reward.app.diagnostics;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.function.Supplier;
+
+/**
+ * Per-request profile of database and application work, reported in the {@code Server-Timing} header.
+ * <p>
+ * A profile is bound to the request thread by {@link DiagnosticsFilter} only when diagnostics are
+ * enabled for the request. Every recording hook first checks {@link #current()}, so requests without
+ * diagnostics pay for a single thread-local lookup and nothing else. Instances are confined to the
+ * request thread and are not thread-safe.
+ * </p>
+ */
+public final class RequestDiagnostics {
+
+    private static final ThreadLocal<RequestDiagnostics> CURRENT = new ThreadLocal<>();
+
+    private final long slowQueryNanos;
+    private final long startNanos = System.nanoTime();
+    private final Map<String, Long> phaseNanos = new LinkedHashMap<>();
+
+    private int statements;
+    private long jdbcNanos;
+    private long rowsFetched;
+    private int entitiesLoaded;
+    private long serializationStartNanos;
+
+    RequestDiagnostics(long slowQueryMillis) {
+        this.slowQueryNanos = slowQueryMillis * 1_000_000L;
+    }
+
+    /**
+     * Returns the profile of the current request.
+     *
+     * @return the profile, or {@code null} if diagnostics are off for the current thread
+     */
+    public static RequestDiagnostics current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Runs a step of request processing and records its duration under {@code phase} when diagnostics are on.
+     *
+     * @param phase the {@code Server-Timing} metric name
+     * @param step  the work to time
+     * @param <T>   the result type
+     * @return the result of {@code step}
+     */
+    public static <T> T timed(String phase, Supplier<T> step) {
+        RequestDiagnostics diagnostics = CURRENT.get();
+        if (diagnostics == null) {
+            return step.get();
+        }
+        long start = System.nanoTime();
+        try {
+            return step.get();
+        } finally {
+            diagnostics.phaseNanos.merge(phase, System.nanoTime() - start, Long::sum);
+        }
+    }
+
+    static void bind(RequestDiagnostics diagnostics) {
+        CURRENT.set(diagnostics);
+    }
+
+    static void unbind() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Records one executed statement and logs it if it exceeded the slow-query threshold.
+     *
+     * @param sql        the statement text
+     * @param parameters the bind parameters of the (last) execution, by index
+     * @param nanos      the execution time
+     */
+    void recordStatement(String sql, Map<Integer, Object> parameters, long nanos) {
+        statements++;
+        jdbcNanos += nanos;
+        if (nanos >= slowQueryNanos) {
+            System.out.printf(Locale.ROOT, "Slow query (%.1f ms): %s %s%n", nanos / 1e6, sql, parameters.values());
+        }
+    }
+
+    void recordFetch(boolean rowFetched, long nanos) {
+        jdbcNanos += nanos;
+        if (rowFetched) {
+            rowsFetched++;
+        }
+    }
+
+    void recordEntityLoaded() {
+        entitiesLoaded++;
+    }
+
+    void markSerializationStart() {
+        serializationStartNanos = System.nanoTime();
+    }
+
+    int getStatements() {
+        return statements;
+    }
+
+    long getRowsFetched() {
+        return rowsFetched;
+    }
+
+    int getEntitiesLoaded() {
+        return entitiesLoaded;
+    }
+
+    /**
+     * Formats the profile as a {@code Server-Timing} header value. Durations are in milliseconds
+     * and counts are reported in the metric descriptions.
+     *
+     * @return the header value
+     */
+    String toServerTiming() {
+        long endNanos = System.nanoTime();
+        StringJoiner header = new StringJoiner(", ");
+        header.add(metric("db", jdbcNanos) + ";desc=\"" + statements + " statements, " + rowsFetched + " rows\"");
+        header.add("hydrate;desc=\"" + entitiesLoaded + " entities\"");
+        phaseNanos.forEach((phase, nanos) -> header.add(metric(phase, nanos)));
+        if (serializationStartNanos != 0) {
+            header.add(metric("serialize", endNanos - serializationStartNanos));
+        }
+        header.add(metric("total", endNanos - startNanos));
+        return header.toString();
+    }
+
+    private static String metric(String name, long nanos) {
+        return String.format(Locale.ROOT, "%s;dur=%.2f", name, nanos / 1e6);
+    }
+}
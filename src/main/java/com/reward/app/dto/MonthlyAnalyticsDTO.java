@@ -0,0 +1,74 @@
+package com.reward.app.dto;
+
+import java.util.Map;
+
+public class MonthlyAnalyticsDTO {
+    private String month;
+    private long transactionCount;
+    private Map<String, Double> spendPercentiles;
+    private Map<String, Double> tierShare;
+    private Long customerCount;
+    private Map<String, Double> customerPointsPercentiles;
+
+    public MonthlyAnalyticsDTO() {
+    }
+
+    public MonthlyAnalyticsDTO(String month, long transactionCount, Map<String, Double> spendPercentiles,
+                               Map<String, Double> tierShare, Long customerCount,
+                               Map<String, Double> customerPointsPercentiles) {
+        this.month = month;
+        this.transactionCount = transactionCount;
+        this.spendPercentiles = spendPercentiles;
+        this.tierShare = tierShare;
+        this.customerCount = customerCount;
+        this.customerPointsPercentiles = customerPointsPercentiles;
+    }
+
+    public String getMonth() {
+        return month;
+    }
+
+    public void setMonth(String month) {
+        this.month = month;
+    }
+
+    public long getTransactionCount() {
+        return transactionCount;
+    }
+
+    public void setTransactionCount(long transactionCount) {
+        this.transactionCount = transactionCount;
+    }
+
+    public Map<String, Double> getSpendPercentiles() {
+        return spendPercentiles;
+    }
+
+    public void setSpendPercentiles(Map<String, Double> spendPercentiles) {
+        this.spendPercentiles = spendPercentiles;
+    }
+
+    public Map<String, Double> getTierShare() {
+        return tierShare;
+    }
+
+    public void setTierShare(Map<String, Double> tierShare) {
+        this.tierShare = tierShare;
+    }
+
+    public Long getCustomerCount() {
+        return customerCount;
+    }
+
+    public void setCustomerCount(Long customerCount) {
+        this.customerCount = customerCount;
+    }
+
+    public Map<String, Double> getCustomerPointsPercentiles() {
+        return customerPointsPercentiles;
+    }
+
+    public void setCustomerPointsPercentiles(Map<String, Double> customerPointsPercentiles) {
+        this.customerPointsPercentiles = customerPointsPercentiles;
+    }
+}
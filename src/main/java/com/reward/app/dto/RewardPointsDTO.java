@@ -1,6 +1,7 @@
 package com.reward.app.dto;
 
 import java.util.Map;
+import java.util.Objects;
 
 public class RewardPointsDTO {
     private String customerId;
@@ -40,4 +41,22 @@ public class RewardPointsDTO {
     public void setMonthlyPoints(Map<String, Integer> monthlyPoints) {
         this.monthlyPoints = monthlyPoints;
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof RewardPointsDTO that)) {
+            return false;
+        }
+        return Objects.equals(customerId, that.customerId)
+                && Objects.equals(totalPoints, that.totalPoints)
+                && Objects.equals(monthlyPoints, that.monthlyPoints);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(customerId, totalPoints, monthlyPoints);
+    }
 }
@@ -0,0 +1,36 @@
+package com.reward.app.dto;
+
+import java.util.List;
+
+/**
+ * A candidate reward rule set: each tier awards {@code pointsPerDollar} for every whole dollar
+ * spent between its threshold and the next tier's threshold (or without limit for the last tier).
+ */
+public class RewardRuleSet {
+    private String name;
+    private List<RewardTier> tiers;
+
+    public RewardRuleSet() {
+    }
+
+    public RewardRuleSet(String name, List<RewardTier> tiers) {
+        this.name = name;
+        this.tiers = tiers;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public List<RewardTier> getTiers() {
+        return tiers;
+    }
+
+    public void setTiers(List<RewardTier> tiers) {
+        this.tiers = tiers;
+    }
+}
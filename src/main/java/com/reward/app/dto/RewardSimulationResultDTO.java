@@ -0,0 +1,63 @@
+package com.reward.app.dto;
+
+import java.util.Map;
+
+public class RewardSimulationResultDTO {
+    private String name;
+    private long totalPoints;
+    private long totalDelta;
+    private Map<String, Long> monthlyPoints;
+    private Map<String, Long> monthlyDelta;
+
+    public RewardSimulationResultDTO() {
+    }
+
+    public RewardSimulationResultDTO(String name, long totalPoints, long totalDelta,
+                                     Map<String, Long> monthlyPoints, Map<String, Long> monthlyDelta) {
+        this.name = name;
+        this.totalPoints = totalPoints;
+        this.totalDelta = totalDelta;
+        this.monthlyPoints = monthlyPoints;
+        this.monthlyDelta = monthlyDelta;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public long getTotalPoints() {
+        return totalPoints;
+    }
+
+    public void setTotalPoints(long totalPoints) {
+        this.totalPoints = totalPoints;
+    }
+
+    public long getTotalDelta() {
+        return totalDelta;
+    }
+
+    public void setTotalDelta(long totalDelta) {
+        this.totalDelta = totalDelta;
+    }
+
+    public Map<String, Long> getMonthlyPoints() {
+        return monthlyPoints;
+    }
+
+    public void setMonthlyPoints(Map<String, Long> monthlyPoints) {
+        this.monthlyPoints = monthlyPoints;
+    }
+
+    public Map<String, Long> getMonthlyDelta() {
+        return monthlyDelta;
+    }
+
+    public void setMonthlyDelta(Map<String, Long> monthlyDelta) {
+        this.monthlyDelta = monthlyDelta;
+    }
+}
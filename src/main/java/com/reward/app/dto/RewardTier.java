@@ -0,0 +1,30 @@
+package com.reward.app.dto;
+
+public class RewardTier {
+    private int threshold;
+    private int pointsPerDollar;
+
+    public RewardTier() {
+    }
+
+    public RewardTier(int threshold, int pointsPerDollar) {
+        this.threshold = threshold;
+        this.pointsPerDollar = pointsPerDollar;
+    }
+
+    public int getThreshold() {
+        return threshold;
+    }
+
+    public void setThreshold(int threshold) {
+        this.threshold = threshold;
+    }
+
+    public int getPointsPerDollar() {
+        return pointsPerDollar;
+    }
+
+    public void setPointsPerDollar(int pointsPerDollar) {
+        this.pointsPerDollar = pointsPerDollar;
+    }
+}
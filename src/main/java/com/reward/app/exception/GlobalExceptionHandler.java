@@ -4,6 +4,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.async.AsyncRequestTimeoutException;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -32,6 +34,34 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, ex.getStatus());
     }
 
+    /**
+     * Handles request parameters that cannot be converted, such as a malformed {@code asOf} date.
+     *
+     * @param ex the {@link MethodArgumentTypeMismatchException} thrown while binding the request
+     * @return a {@link ResponseEntity} containing an error message and HTTP status {@code BAD_REQUEST}
+     */
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<Map<String, String>> handleArgumentTypeMismatch(MethodArgumentTypeMismatchException ex) {
+        Map<String, String> errorResponse = new HashMap<>();
+        errorResponse.put("error", "Reward Processing Error");
+        errorResponse.put("message", "Invalid value for " + ex.getName() + ": " + ex.getValue());
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handles the timeout of an async request such as a reward event stream.
+     * <p>
+     * The response is already committed as {@code text/event-stream}, so nothing is written;
+     * the stream simply ends and the client reconnects.
+     * </p>
+     *
+     * @param ex the {@link AsyncRequestTimeoutException} raised when the stream timed out
+     */
+    @ExceptionHandler(AsyncRequestTimeoutException.class)
+    public void handleAsyncRequestTimeoutException(AsyncRequestTimeoutException ex) {
+        // Nothing to write
+    }
+
     /**
      * Handles generic {@link Exception} and returns a structured error response.
      * <p>
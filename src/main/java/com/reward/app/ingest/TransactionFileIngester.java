@@ -0,0 +1,160 @@
+package com.reward.app.ingest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.reward.app.model.JournalCheckpoint;
+import com.reward.app.model.Transaction;
+import com.reward.app.repository.JournalCheckpointRepository;
+import com.reward.app.repository.TransactionRepository;
+import com.reward.app.service.TransactionArchiveService;
+import com.reward.app.service.TransactionValidator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Incrementally ingests newline-delimited JSON transaction files (one {@link Transaction} per line).
+ * <p>
+ * Each file's byte offset is kept as a {@link JournalCheckpoint} named {@code ingest:<file name>} and
+ * saved in the same database transaction as the batch it covers, so a file can be appended to and
+ * re-ingested any number of times without losing or duplicating rows. Only complete lines are read;
+ * a line still being written is picked up on the next call. Rows are saved through JPA, so the
+ * accrual pipeline refreshes the affected customers' balances after each batch commits. Files outlive
+ * the in-memory database, so lines that {@link TransactionArchiveService} has already archived are skipped.
+ * </p>
+ */
+@Component
+public class TransactionFileIngester {
+
+    public static final String CHECKPOINT_PREFIX = "ingest:";
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private JournalCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TransactionArchiveService archiveService;
+
+    @Value("${reward.ingest.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * Ingests every complete line appended to a file since the last call.
+     *
+     * @param file the NDJSON file
+     * @return the number of transactions inserted
+     * @throws IOException if the file cannot be read
+     */
+    public synchronized int ingest(Path file) throws IOException {
+        String checkpointName = CHECKPOINT_PREFIX + file.getFileName();
+        long offset = checkpointRepository.findById(checkpointName)
+                .map(JournalCheckpoint::getPosition)
+                .orElse(0L);
+
+        int inserted = 0;
+        int skipped = 0;
+        int archived = 0;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < offset) {
+                System.out.println("Ingest file " + file + " shrank below its offset " + offset + "; ignoring it");
+                return 0;
+            }
+            channel.position(offset);
+            InputStream in = Channels.newInputStream(channel);
+            byte[] buffer = new byte[64 * 1024];
+            ByteArrayOutputStream line = new ByteArrayOutputStream(256);
+            List<Transaction> batch = new ArrayList<>(batchSize);
+            long position = offset;
+            long committed = offset;
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                int lineStart = 0;
+                for (int i = 0; i < read; i++) {
+                    if (buffer[i] != '\n') {
+                        continue;
+                    }
+                    line.write(buffer, lineStart, i - lineStart);
+                    lineStart = i + 1;
+                    position += line.size() + 1;
+                    Transaction transaction = parse(file, line.toString(StandardCharsets.UTF_8).trim());
+                    line.reset();
+                    if (transaction == null) {
+                        skipped++;
+                    } else if (archiveService.isArchived(checkpointName, position, transaction.getTransactionDate())) {
+                        archived++;
+                    } else {
+                        batch.add(transaction);
+                    }
+                    if (batch.size() == batchSize) {
+                        inserted += commit(checkpointName, batch, position);
+                        committed = position;
+                        batch = new ArrayList<>(batchSize);
+                    }
+                }
+                line.write(buffer, lineStart, read - lineStart); // Incomplete line, continued by the next chunk
+            }
+            if (position > committed) {
+                inserted += commit(checkpointName, batch, position);
+            }
+        }
+        if (inserted > 0 || skipped > 0) {
+            System.out.println("Ingested " + inserted + " transactions from " + file + (skipped > 0 ? " (" + skipped + " invalid lines skipped)" : ""));
+        }
+        if (archived > 0) {
+            System.out.println("Skipped " + archived + " transactions from " + file + " that were already archived");
+        }
+        return inserted;
+    }
+
+    private int commit(String checkpointName, List<Transaction> batch, long position) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            transactionRepository.saveAll(batch);
+            checkpointRepository.save(new JournalCheckpoint(checkpointName, position));
+        });
+        return batch.size();
+    }
+
+    /**
+     * Parses and validates one line, returning {@code null} for blank or invalid lines.
+     */
+    private Transaction parse(Path file, String line) {
+        if (line.isEmpty()) {
+            return null;
+        }
+        try {
+            Transaction transaction = objectMapper.readValue(line, Transaction.class);
+            transaction.setId(null);
+            Optional<String> invalid = TransactionValidator.validate(transaction);
+            if (invalid.isPresent()) {
+                System.out.println("Skipping invalid transaction in " + file + " (" + invalid.get() + "): " + line);
+                return null;
+            }
+            return transaction;
+        } catch (JsonProcessingException ex) {
+            System.out.println("Skipping unparseable line in " + file + ": " + ex.getOriginalMessage());
+            return null;
+        }
+    }
+}
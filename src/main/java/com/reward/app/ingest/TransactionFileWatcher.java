@@ -0,0 +1,139 @@
+package com.reward.app.ingest;
+
+import com.reward.app.JsonDataLoader;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Watches the inbox directory ({@code reward.ingest.watch-dir}) for new or appended transaction files.
+ * <p>
+ * Files ending in {@code .ndjson} or {@code .jsonl} are handed to {@link TransactionFileIngester}
+ * whenever they are created or modified. Every file is also scanned once on startup so that data
+ * dropped while the application was down is picked up. Leave the property empty to disable watching.
+ * </p>
+ * <p>
+ * The directory is registered at startup so no change is missed, but nothing is ingested until the
+ * initial {@link JsonDataLoader} load has completed: the load deletes every stored transaction and
+ * would otherwise wipe ingested rows whose {@code ingest:} checkpoint has already advanced.
+ * </p>
+ */
+@Component
+public class TransactionFileWatcher {
+
+    /** Collects bursts of modify events for a file that is still being written. */
+    private static final long DEBOUNCE_MILLIS = 200;
+
+    @Autowired
+    private TransactionFileIngester ingester;
+
+    @Autowired
+    private JsonDataLoader jsonDataLoader;
+
+    @Value("${reward.ingest.watch-dir:}")
+    private String watchDir;
+
+    private WatchService watchService;
+    private Thread watcherThread;
+
+    @PostConstruct
+    void start() throws IOException {
+        if (watchDir == null || watchDir.isBlank()) {
+            return;
+        }
+        Path dir = Paths.get(watchDir);
+        Files.createDirectories(dir);
+        watchService = FileSystems.getDefault().newWatchService();
+        dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+
+        watcherThread = new Thread(() -> watch(dir), "transaction-file-watcher");
+        watcherThread.setDaemon(true);
+        watcherThread.start();
+        System.out.println("Watching " + dir.toAbsolutePath() + " for transaction files");
+    }
+
+    @PreDestroy
+    void stop() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+            watcherThread.interrupt();
+        }
+    }
+
+    private void watch(Path dir) {
+        if (!jsonDataLoader.awaitLoad(Long.MAX_VALUE, TimeUnit.MILLISECONDS)) {
+            System.out.println("Initial data load did not complete; not ingesting from " + dir);
+            return;
+        }
+        ingestAll(dir);
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                Thread.sleep(DEBOUNCE_MILLIS);
+                Set<Path> changed = new TreeSet<>();
+                boolean overflow = false;
+                do {
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                            overflow = true;
+                        } else {
+                            changed.add(dir.resolve((Path) event.context()));
+                        }
+                    }
+                    if (!key.reset()) {
+                        System.out.println("Transaction inbox " + dir + " is no longer accessible; stopped watching");
+                        return;
+                    }
+                } while ((key = watchService.poll()) != null);
+
+                if (overflow) {
+                    ingestAll(dir); // Events were lost, rescan everything
+                } else {
+                    changed.stream().filter(TransactionFileWatcher::isTransactionFile).forEach(this::ingest);
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException ex) {
+            // Shutting down
+        }
+    }
+
+    private void ingestAll(Path dir) {
+        try (Stream<Path> files = Files.list(dir)) {
+            files.filter(TransactionFileWatcher::isTransactionFile).sorted().forEach(this::ingest);
+        } catch (IOException ex) {
+            System.out.println("Unable to scan transaction inbox " + dir + ": " + ex.getMessage());
+        }
+    }
+
+    private void ingest(Path file) {
+        try {
+            if (Files.isRegularFile(file)) {
+                ingester.ingest(file);
+            }
+        } catch (IOException | RuntimeException ex) {
+            System.out.println("Ingest of " + file + " failed, will retry on its next change: " + ex.getMessage());
+        }
+    }
+
+    private static boolean isTransactionFile(Path file) {
+        String name = file.getFileName().toString();
+        return name.endsWith(".ndjson") || name.endsWith(".jsonl");
+    }
+}
@@ -0,0 +1,103 @@
+package com.reward.app.journal;
+
+import com.reward.app.JsonDataLoader;
+import com.reward.app.model.JournalCheckpoint;
+import com.reward.app.model.Transaction;
+import com.reward.app.repository.JournalCheckpointRepository;
+import com.reward.app.repository.TransactionRepository;
+import com.reward.app.service.TransactionArchiveService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replays the {@link TransactionJournal} into the {@code transaction} table in the background.
+ * <p>
+ * Each batch of replayed rows is saved in the same database transaction as the new
+ * {@link JournalCheckpoint}, so replay after a crash resumes from the last committed batch
+ * without losing or duplicating transactions. Replay only starts once the initial
+ * {@link JsonDataLoader} load has completed, since the load deletes every stored transaction
+ * and would otherwise wipe rows whose checkpoint has already advanced. The journal outlives the
+ * in-memory database, so records that {@link TransactionArchiveService} has already archived are
+ * skipped rather than inserted again.
+ * </p>
+ */
+@Component
+public class JournalReplayer {
+
+    @Autowired
+    private TransactionJournal transactionJournal;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private JournalCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JsonDataLoader jsonDataLoader;
+
+    @Autowired
+    private TransactionArchiveService archiveService;
+
+    @Value("${reward.journal.replay-batch-size:500}")
+    private int replayBatchSize;
+
+    /**
+     * Replays every committed journal record past the current checkpoint.
+     */
+    @Scheduled(fixedDelayString = "${reward.journal.replay-interval-ms:200}")
+    public void replay() {
+        if (!jsonDataLoader.isCompleted()) {
+            return;
+        }
+        try {
+            while (replayBatch() > 0) {
+                // Keep draining until the database has caught up with the journal
+            }
+        } catch (IOException | DataAccessException ex) {
+            System.out.println("Journal replay failed, will retry: " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Replays a single batch of records and advances the checkpoint.
+     *
+     * @return the number of records replayed, including those skipped as already archived
+     * @throws IOException if the journal cannot be read
+     */
+    int replayBatch() throws IOException {
+        long checkpoint = checkpointRepository.findById(TransactionJournal.JOURNAL_NAME)
+                .map(JournalCheckpoint::getPosition)
+                .orElse(0L);
+
+        TransactionJournal.JournalBatch batch = transactionJournal.read(checkpoint, replayBatchSize);
+        if (batch.transactions().isEmpty()) {
+            return 0;
+        }
+
+        List<Transaction> transactions = new ArrayList<>(batch.transactions().size());
+        for (int i = 0; i < batch.transactions().size(); i++) {
+            Transaction transaction = batch.transactions().get(i);
+            if (!archiveService.isArchived(TransactionJournal.JOURNAL_NAME, batch.endPositions().get(i), transaction.getTransactionDate())) {
+                transactions.add(transaction);
+            }
+        }
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            transactionRepository.saveAll(transactions);
+            checkpointRepository.save(new JournalCheckpoint(TransactionJournal.JOURNAL_NAME, batch.nextPosition()));
+        });
+        return batch.transactions().size();
+    }
+}
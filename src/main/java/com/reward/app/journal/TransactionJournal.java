@@ -0,0 +1,317 @@
+package com.reward.app.journal;
+
+import com.reward.app.model.Transaction;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only, file-backed journal of incoming {@link Transaction} records.
+ * <p>
+ * Appends are queued and written by a single writer thread using group commit: every record
+ * that arrives within {@code reward.journal.group-commit-window-ms} of the first one in a group
+ * is written with one {@link FileChannel#write} and made durable with a single
+ * {@link FileChannel#force(boolean)}. Callers are acknowledged only after that fsync.
+ * </p>
+ * <p>
+ * Each record is stored as {@code [int payloadLength][int crc32][payload]}. On startup the file is
+ * scanned and any torn record left behind by a crash is truncated away.
+ * </p>
+ */
+@Component
+public class TransactionJournal {
+
+    /** Name under which the replay checkpoint of this journal is stored. */
+    public static final String JOURNAL_NAME = "transactions";
+
+    private static final int HEADER_BYTES = 8;
+    private static final long WRITER_POLL_MILLIS = 100;
+
+    private final Path journalFile;
+    private final long groupCommitWindowNanos;
+    private final int maxGroupSize;
+    private final BlockingQueue<PendingAppend> pending = new LinkedBlockingQueue<>();
+
+    private FileChannel channel;
+    private Thread writer;
+    private volatile boolean running;
+    private volatile long committedPosition;
+
+    /**
+     * Creates a journal stored in {@code transactions.journal} under the given directory.
+     *
+     * @param directory               directory holding the journal file
+     * @param groupCommitWindowMillis how long the writer waits for more records before an fsync
+     * @param maxGroupSize            maximum number of records covered by a single fsync
+     */
+    public TransactionJournal(@Value("${reward.journal.dir:./data/journal}") String directory,
+                              @Value("${reward.journal.group-commit-window-ms:2}") long groupCommitWindowMillis,
+                              @Value("${reward.journal.max-group-size:1024}") int maxGroupSize) {
+        this.journalFile = Paths.get(directory).resolve(JOURNAL_NAME + ".journal");
+        this.groupCommitWindowNanos = TimeUnit.MILLISECONDS.toNanos(groupCommitWindowMillis);
+        this.maxGroupSize = maxGroupSize;
+    }
+
+    /**
+     * Opens the journal file, truncates a torn tail if present and starts the writer thread.
+     *
+     * @throws IOException if the journal file cannot be opened or repaired
+     */
+    @PostConstruct
+    public void open() throws IOException {
+        Files.createDirectories(journalFile.toAbsolutePath().getParent());
+        channel = FileChannel.open(journalFile, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        long validEnd = scanValidEnd();
+        if (validEnd < channel.size()) {
+            System.out.println("Truncating torn journal tail at position " + validEnd + " (file size " + channel.size() + ")");
+            channel.truncate(validEnd);
+            channel.force(true);
+        }
+        channel.position(validEnd);
+        committedPosition = validEnd;
+
+        running = true;
+        writer = new Thread(this::runWriter, "transaction-journal-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Stops accepting appends, flushes everything already queued and closes the file.
+     *
+     * @throws IOException if the journal file cannot be closed
+     */
+    @PreDestroy
+    public void close() throws IOException {
+        running = false;
+        if (writer != null) {
+            try {
+                writer.join();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        PendingAppend leftover;
+        while ((leftover = pending.poll()) != null) {
+            leftover.future().completeExceptionally(new IllegalStateException("Transaction journal is closed"));
+        }
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    /**
+     * Queues a transaction for appending to the journal.
+     *
+     * @param transaction the transaction to append
+     * @return a future completed with the journal position after the record once it has been fsynced
+     */
+    public CompletableFuture<Long> append(Transaction transaction) {
+        if (!running) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Transaction journal is closed"));
+        }
+        PendingAppend append = new PendingAppend(encode(transaction), new CompletableFuture<>());
+        pending.add(append);
+        return append.future();
+    }
+
+    /**
+     * Reads committed records starting at the given position.
+     *
+     * @param fromPosition position of the first record to read
+     * @param maxRecords   maximum number of records to return
+     * @return the decoded transactions, the position just after each of them and just after the last one returned
+     * @throws IOException if the journal file cannot be read
+     */
+    public JournalBatch read(long fromPosition, int maxRecords) throws IOException {
+        long limit = committedPosition;
+        long position = fromPosition;
+        List<Transaction> transactions = new ArrayList<>();
+        List<Long> endPositions = new ArrayList<>();
+        while (transactions.size() < maxRecords) {
+            byte[] payload = readRecord(position, limit);
+            if (payload == null) {
+                break;
+            }
+            transactions.add(decode(payload));
+            position += HEADER_BYTES + payload.length;
+            endPositions.add(position);
+        }
+        return new JournalBatch(transactions, endPositions, position);
+    }
+
+    /**
+     * Returns the position just after the last record known to be durable on disk.
+     *
+     * @return the committed end of the journal
+     */
+    public long getCommittedPosition() {
+        return committedPosition;
+    }
+
+    private void runWriter() {
+        List<PendingAppend> group = new ArrayList<>(maxGroupSize);
+        while (running || !pending.isEmpty()) {
+            try {
+                PendingAppend first = pending.poll(WRITER_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                group.add(first);
+                long deadline = System.nanoTime() + groupCommitWindowNanos;
+                while (group.size() < maxGroupSize) {
+                    long remaining = deadline - System.nanoTime();
+                    PendingAppend next = remaining > 0 ? pending.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                    if (next == null) {
+                        pending.drainTo(group, maxGroupSize - group.size());
+                        break;
+                    }
+                    group.add(next);
+                }
+                commit(group);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                group.clear();
+            }
+        }
+    }
+
+    private void commit(List<PendingAppend> group) {
+        int size = 0;
+        for (PendingAppend append : group) {
+            size += HEADER_BYTES + append.payload().length;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        long[] endPositions = new long[group.size()];
+        long position = committedPosition;
+        for (int i = 0; i < group.size(); i++) {
+            byte[] payload = group.get(i).payload();
+            buffer.putInt(payload.length).putInt(checksum(payload, payload.length)).put(payload);
+            position += HEADER_BYTES + payload.length;
+            endPositions[i] = position;
+        }
+        buffer.flip();
+
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false); // One fsync for the whole group
+            committedPosition = position;
+        } catch (IOException ex) {
+            System.out.println("Journal group commit of " + group.size() + " records failed: " + ex.getMessage());
+            rollbackPartialWrite();
+            group.forEach(append -> append.future().completeExceptionally(ex));
+            return;
+        }
+        for (int i = 0; i < group.size(); i++) {
+            group.get(i).future().complete(endPositions[i]);
+        }
+    }
+
+    private void rollbackPartialWrite() {
+        try {
+            channel.truncate(committedPosition);
+            channel.position(committedPosition);
+        } catch (IOException ex) {
+            System.out.println("Unable to truncate journal after failed write: " + ex.getMessage());
+        }
+    }
+
+    private long scanValidEnd() throws IOException {
+        long limit = channel.size();
+        long position = 0;
+        byte[] payload;
+        while ((payload = readRecord(position, limit)) != null) {
+            position += HEADER_BYTES + payload.length;
+        }
+        return position;
+    }
+
+    /**
+     * Reads and verifies the record at {@code position}, returning {@code null} if there is no complete,
+     * intact record before {@code limit}.
+     */
+    private byte[] readRecord(long position, long limit) throws IOException {
+        if (position + HEADER_BYTES > limit) {
+            return null;
+        }
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        readFully(header, position);
+        int length = header.getInt(0);
+        int crc = header.getInt(4);
+        if (length <= 0 || position + HEADER_BYTES + length > limit) {
+            return null;
+        }
+        ByteBuffer payload = ByteBuffer.allocate(length);
+        readFully(payload, position + HEADER_BYTES);
+        return checksum(payload.array(), length) == crc ? payload.array() : null;
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of journal at position " + position);
+            }
+        }
+    }
+
+    private static int checksum(byte[] bytes, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, length);
+        return (int) crc.getValue();
+    }
+
+    private static byte[] encode(Transaction transaction) {
+        byte[] customerId = transaction.getCustomerId().getBytes(StandardCharsets.UTF_8);
+        return ByteBuffer.allocate(Short.BYTES + customerId.length + Double.BYTES + Long.BYTES)
+                .putShort((short) customerId.length)
+                .put(customerId)
+                .putDouble(transaction.getAmountSpent())
+                .putLong(transaction.getTransactionDate().toEpochDay())
+                .array();
+    }
+
+    private static Transaction decode(byte[] payload) {
+        ByteBuffer buffer = ByteBuffer.wrap(payload);
+        byte[] customerId = new byte[buffer.getShort()];
+        buffer.get(customerId);
+        double amountSpent = buffer.getDouble();
+        LocalDate transactionDate = LocalDate.ofEpochDay(buffer.getLong());
+        return new Transaction(null, new String(customerId, StandardCharsets.UTF_8), amountSpent, transactionDate);
+    }
+
+    private record PendingAppend(byte[] payload, CompletableFuture<Long> future) {
+    }
+
+    /**
+     * A run of decoded journal records together with the position just after the last one.
+     *
+     * @param transactions the decoded transactions, in journal order
+     * @param endPositions the position just after each transaction
+     * @param nextPosition the position at which the next read should start
+     */
+    public record JournalBatch(List<Transaction> transactions, List<Long> endPositions, long nextPosition) {
+    }
+}
@@ -0,0 +1,46 @@
+package com.reward.app.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Dictionary entry mapping an external customer ID to a compact surrogate key.
+ * <p>
+ * Transactions store and index the integer {@link #getId() key} instead of the free-form
+ * external ID string; see {@link CustomerKeyConverter}.
+ * </p>
+ */
+@Entity
+@Table(name = "customer")
+public class Customer {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Column(nullable = false, unique = true)
+    private String externalId;
+
+    public Customer() {
+    }
+
+    public Customer(Integer id, String externalId) {
+        this.id = id;
+        this.externalId = externalId;
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public String getExternalId() {
+        return externalId;
+    }
+
+    public void setExternalId(String externalId) {
+        this.externalId = externalId;
+    }
+}
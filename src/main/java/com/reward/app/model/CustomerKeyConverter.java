@@ -0,0 +1,34 @@
+package com.reward.app.model;
+
+import com.reward.app.service.CustomerDictionary;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores external customer IDs as their integer dictionary keys.
+ * <p>
+ * Hibernate obtains this converter from the Spring context, so the {@link CustomerDictionary}
+ * cache is shared with the rest of the application. Conversion never registers customers, since it
+ * also binds query parameters: an unknown ID becomes {@link CustomerDictionary#UNKNOWN_KEY}, which
+ * matches no rows. New customers are registered before insert by {@link CustomerRegistrationListener}.
+ * </p>
+ */
+@Converter
+public class CustomerKeyConverter implements AttributeConverter<String, Integer> {
+
+    private final CustomerDictionary customerDictionary;
+
+    public CustomerKeyConverter(CustomerDictionary customerDictionary) {
+        this.customerDictionary = customerDictionary;
+    }
+
+    @Override
+    public Integer convertToDatabaseColumn(String customerId) {
+        return customerId == null ? null : customerDictionary.findKey(customerId).orElse(CustomerDictionary.UNKNOWN_KEY);
+    }
+
+    @Override
+    public String convertToEntityAttribute(Integer customerKey) {
+        return customerKey == null ? null : customerDictionary.getExternalId(customerKey);
+    }
+}
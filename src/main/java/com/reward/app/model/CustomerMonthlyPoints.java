@@ -0,0 +1,72 @@
+package com.reward.app.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Derived read model of a customer's reward points per month.
+ * <p>
+ * Rows are maintained incrementally by {@link com.reward.app.recompute.RewardRecomputeService}, which
+ * only recomputes the (customer, month) pairs touched by transactions ingested since its last run.
+ * The totals include the month's archived transactions, which are kept separately so a recompute
+ * only reads the table.
+ * </p>
+ */
+@Entity
+@Table(name = "customer_monthly_points",
+        uniqueConstraints = @UniqueConstraint(name = "uk_monthly_points_customer_month", columnNames = {"customer_key", "reward_month"}),
+        indexes = @Index(name = "idx_monthly_points_month", columnList = "reward_month"))
+public class CustomerMonthlyPoints {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Convert(converter = CustomerKeyConverter.class)
+    @Column(name = "customer_key", nullable = false)
+    private String customerId;
+
+    /** The month in {@code yyyy-MM} format. */
+    @Column(name = "reward_month", nullable = false, length = 7)
+    private String month;
+
+    private int points;
+
+    private int transactionCount;
+
+    @Column(columnDefinition = "int default 0 not null")
+    private int archivedPoints;
+
+    @Column(columnDefinition = "int default 0 not null")
+    private int archivedTransactionCount;
+
+    public CustomerMonthlyPoints() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getCustomerId() {
+        return customerId;
+    }
+
+    public String getMonth() {
+        return month;
+    }
+
+    public int getPoints() {
+        return points;
+    }
+
+    public int getTransactionCount() {
+        return transactionCount;
+    }
+
+    public int getArchivedPoints() {
+        return archivedPoints;
+    }
+
+    public int getArchivedTransactionCount() {
+        return archivedTransactionCount;
+    }
+}
@@ -0,0 +1,31 @@
+package com.reward.app.model;
+
+import com.reward.app.service.CustomerDictionary;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+
+/**
+ * JPA entity listener that registers the customer of an entity in the {@link CustomerDictionary}
+ * before it is written, so {@link CustomerKeyConverter} can resolve its key.
+ */
+public class CustomerRegistrationListener {
+
+    private final CustomerDictionary customerDictionary;
+
+    public CustomerRegistrationListener(CustomerDictionary customerDictionary) {
+        this.customerDictionary = customerDictionary;
+    }
+
+    @PrePersist
+    @PreUpdate
+    void register(Object entity) {
+        String customerId = switch (entity) {
+            case Transaction transaction -> transaction.getCustomerId();
+            case MonthlyRewardSnapshot snapshot -> snapshot.getCustomerId();
+            default -> null;
+        };
+        if (customerId != null) {
+            customerDictionary.getOrCreateKey(customerId);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.reward.app.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Records how far a journal has been replayed into the {@code transaction} table.
+ * <p>
+ * The same checkpoints track how far each file in the ingest inbox has been read
+ * (see {@link com.reward.app.ingest.TransactionFileIngester}).
+ * </p>
+ * <p>
+ * The checkpoint is written in the same database transaction as the replayed rows,
+ * so after a crash replay resumes exactly where the last committed batch ended.
+ * </p>
+ */
+@Entity
+@Table(name = "journal_checkpoint")
+public class JournalCheckpoint {
+
+    @Id
+    private String journalName;
+
+    private long position;
+
+    public JournalCheckpoint() {
+    }
+
+    public JournalCheckpoint(String journalName, long position) {
+        this.journalName = journalName;
+        this.position = position;
+    }
+
+    public String getJournalName() {
+        return journalName;
+    }
+
+    public void setJournalName(String journalName) {
+        this.journalName = journalName;
+    }
+
+    public long getPosition() {
+        return position;
+    }
+
+    public void setPosition(long position) {
+        this.position = position;
+    }
+}
@@ -0,0 +1,113 @@
+package com.reward.app.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import org.hibernate.annotations.DynamicUpdate;
+
+/**
+ * Persisted spending and points distribution sketches of one month.
+ * <p>
+ * The digests are serialized {@link com.reward.app.analytics.TDigest} instances of a few kilobytes
+ * each, however many transactions the month has. The spend digest and tier counters grow as
+ * transactions are ingested; the customer points digest is written once, when the month closes.
+ * Updates only write the changed columns, so the two writers never overwrite each other's sketches.
+ * </p>
+ */
+@Entity
+@DynamicUpdate
+@Table(name = "monthly_analytics")
+public class MonthlyAnalytics {
+
+    /** The month in {@code yyyy-MM} format. */
+    @Id
+    @Column(name = "analytics_month", length = 7)
+    private String month;
+
+    private long transactionCount;
+
+    /** Transactions of $50 or less, which earn no points. */
+    private long baseTierTransactions;
+
+    /** Transactions over $50 up to $100, which earn 1 point per dollar over $50. */
+    private long firstTierTransactions;
+
+    /** Transactions over $100, which also earn 2 points per dollar over $100. */
+    private long secondTierTransactions;
+
+    @Column(length = 16 * 1024)
+    private byte[] spendDigest;
+
+    private long customerCount;
+
+    @Column(length = 16 * 1024)
+    private byte[] customerPointsDigest;
+
+    public MonthlyAnalytics() {
+    }
+
+    public MonthlyAnalytics(String month) {
+        this.month = month;
+    }
+
+    public String getMonth() {
+        return month;
+    }
+
+    public long getTransactionCount() {
+        return transactionCount;
+    }
+
+    public void setTransactionCount(long transactionCount) {
+        this.transactionCount = transactionCount;
+    }
+
+    public long getBaseTierTransactions() {
+        return baseTierTransactions;
+    }
+
+    public void setBaseTierTransactions(long baseTierTransactions) {
+        this.baseTierTransactions = baseTierTransactions;
+    }
+
+    public long getFirstTierTransactions() {
+        return firstTierTransactions;
+    }
+
+    public void setFirstTierTransactions(long firstTierTransactions) {
+        this.firstTierTransactions = firstTierTransactions;
+    }
+
+    public long getSecondTierTransactions() {
+        return secondTierTransactions;
+    }
+
+    public void setSecondTierTransactions(long secondTierTransactions) {
+        this.secondTierTransactions = secondTierTransactions;
+    }
+
+    public byte[] getSpendDigest() {
+        return spendDigest;
+    }
+
+    public void setSpendDigest(byte[] spendDigest) {
+        this.spendDigest = spendDigest;
+    }
+
+    public long getCustomerCount() {
+        return customerCount;
+    }
+
+    public void setCustomerCount(long customerCount) {
+        this.customerCount = customerCount;
+    }
+
+    public byte[] getCustomerPointsDigest() {
+        return customerPointsDigest;
+    }
+
+    public void setCustomerPointsDigest(byte[] customerPointsDigest) {
+        this.customerPointsDigest = customerPointsDigest;
+    }
+}
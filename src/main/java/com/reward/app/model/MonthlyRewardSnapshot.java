@@ -0,0 +1,126 @@
+package com.reward.app.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.SortedMap;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+
+/**
+ * Immutable record of a customer's reward points for one closed month.
+ * <p>
+ * Besides the month total, the snapshot keeps the points earned on each day the customer had
+ * transactions ({@code day=points} pairs), so a point-in-time query whose three-month window starts
+ * or ends inside the month can be answered without reading the month's transactions.
+ * </p>
+ */
+@Entity
+@Immutable
+@EntityListeners(CustomerRegistrationListener.class)
+@Table(name = "monthly_reward_snapshot",
+        uniqueConstraints = @UniqueConstraint(name = "uk_snapshot_customer_month", columnNames = {"customer_key", "reward_month"}))
+public class MonthlyRewardSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Convert(converter = CustomerKeyConverter.class)
+    @Column(name = "customer_key", nullable = false)
+    private String customerId;
+
+    /** The month in {@code yyyy-MM} format. */
+    @Column(name = "reward_month", nullable = false, length = 7)
+    private String month;
+
+    private int points;
+
+    private int transactionCount;
+
+    @Column(length = 512)
+    private String dailyPoints;
+
+    private LocalDate closedOn;
+
+    public MonthlyRewardSnapshot() {
+    }
+
+    public MonthlyRewardSnapshot(String customerId, String month, SortedMap<Integer, Integer> pointsByDay,
+                                 int transactionCount, LocalDate closedOn) {
+        this.customerId = customerId;
+        this.month = month;
+        this.points = pointsByDay.values().stream().mapToInt(Integer::intValue).sum();
+        this.transactionCount = transactionCount;
+        StringJoiner days = new StringJoiner(",");
+        pointsByDay.forEach((day, dayPoints) -> days.add(day + "=" + dayPoints));
+        this.dailyPoints = days.toString();
+        this.closedOn = closedOn;
+    }
+
+    /**
+     * Sums the points earned between two days of the month, inclusive.
+     *
+     * @param firstDay the first day of the range
+     * @param lastDay  the last day of the range
+     * @return the points, or empty if the customer had no transactions in the range
+     */
+    public OptionalInt getPointsBetweenDays(int firstDay, int lastDay) {
+        if (firstDay <= 1 && lastDay >= 31) {
+            return OptionalInt.of(points);
+        }
+        int sum = 0;
+        boolean active = false;
+        for (Map.Entry<Integer, Integer> entry : getPointsByDay().entrySet()) {
+            if (entry.getKey() >= firstDay && entry.getKey() <= lastDay) {
+                sum += entry.getValue();
+                active = true;
+            }
+        }
+        return active ? OptionalInt.of(sum) : OptionalInt.empty();
+    }
+
+    /**
+     * Returns the points earned on each day the customer had transactions.
+     *
+     * @return points by day of month
+     */
+    public SortedMap<Integer, Integer> getPointsByDay() {
+        SortedMap<Integer, Integer> pointsByDay = new TreeMap<>();
+        if (dailyPoints == null || dailyPoints.isEmpty()) {
+            return pointsByDay;
+        }
+        for (String entry : dailyPoints.split(",")) {
+            int separator = entry.indexOf('=');
+            pointsByDay.put(Integer.parseInt(entry.substring(0, separator)), Integer.parseInt(entry.substring(separator + 1)));
+        }
+        return pointsByDay;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getCustomerId() {
+        return customerId;
+    }
+
+    public String getMonth() {
+        return month;
+    }
+
+    public int getPoints() {
+        return points;
+    }
+
+    public int getTransactionCount() {
+        return transactionCount;
+    }
+
+    public LocalDate getClosedOn() {
+        return closedOn;
+    }
+}
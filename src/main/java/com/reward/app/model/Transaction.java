@@ -2,23 +2,40 @@ package com.reward.app.model;
 
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.reward.app.pipeline.TransactionAccrualListener;
 import jakarta.persistence.*;
 
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "transaction")
+@EntityListeners({CustomerRegistrationListener.class, TransactionAccrualListener.class})
+@Table(name = "transaction",
+        indexes = {@Index(name = "idx_transaction_customer_date", columnList = "customer_key, transactionDate"),
+                @Index(name = "idx_transaction_ingest_sequence", columnList = "ingest_sequence"),
+                @Index(name = "idx_transaction_customer_sequence", columnList = "customer_key, ingest_sequence")})
 public class Transaction {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Convert(converter = CustomerKeyConverter.class)
+    @Column(name = "customer_key")
     private String customerId;
     private double amountSpent;
     @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd")
     private LocalDate transactionDate;
 
+    /**
+     * Monotonically increasing insert order assigned by the database, including to rows written with plain JDBC.
+     * Incremental recomputes use it as their watermark.
+     */
+    @JsonIgnore
+    @Column(name = "ingest_sequence", insertable = false, updatable = false,
+            columnDefinition = "bigint default next value for transaction_ingest_seq")
+    private Long ingestSequence;
+
     public Transaction() {
     }
 
@@ -60,4 +77,8 @@ public class Transaction {
     public void setTransactionDate(LocalDate transactionDate) {
         this.transactionDate = transactionDate;
     }
+
+    public Long getIngestSequence() {
+        return ingestSequence;
+    }
 }
@@ -0,0 +1,123 @@
+package com.reward.app.pipeline;
+
+import com.reward.app.exception.RewardProcessingException;
+import com.reward.app.service.RewardPointsCalculator;
+
+import java.time.LocalDate;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Consumer thread owning one customer-hash partition of the accrual pipeline.
+ * <p>
+ * Every consumer reads every published slot but applies only the events of its own customers,
+ * so each {@link CustomerBalance} has exactly one writer. The consumer also prunes the days on or
+ * before the retention cutoff from its balances and ignores events dated on or before it.
+ * </p>
+ */
+final class AccrualConsumer implements Runnable {
+
+    private final int partition;
+    private final int partitions;
+    private final AccrualRingBuffer ringBuffer;
+    private final AtomicLong sequence;
+    private final ConcurrentMap<String, CustomerBalance> balances = new ConcurrentHashMap<>();
+    private final AtomicLong eventsApplied = new AtomicLong();
+    private final AccrualListener accrued;
+    private final Consumer<String> balanceChanged;
+    private volatile boolean running = true;
+    /** Days on or before this date are no longer read; only ever raised. */
+    private final AtomicReference<LocalDate> retainAfter = new AtomicReference<>(LocalDate.MIN);
+    /** The cutoff the balances have been pruned to; consumer thread only. */
+    private LocalDate prunedThrough = LocalDate.MIN;
+
+    AccrualConsumer(int partition, int partitions, AccrualRingBuffer ringBuffer,
+                    AccrualListener accrued, Consumer<String> balanceChanged) {
+        this.partition = partition;
+        this.partitions = partitions;
+        this.ringBuffer = ringBuffer;
+        this.sequence = ringBuffer.consumerSequence(partition);
+        this.accrued = accrued;
+        this.balanceChanged = balanceChanged;
+    }
+
+    static int partitionOf(String customerId, int partitions) {
+        return Math.floorMod(customerId.hashCode(), partitions);
+    }
+
+    @Override
+    public void run() {
+        long next = sequence.get() + 1;
+        int idle = 0;
+        while (running) {
+            LocalDate cutoff = retainAfter.get();
+            if (cutoff.isAfter(prunedThrough)) {
+                balances.values().removeIf(balance -> balance.pruneThrough(cutoff));
+                prunedThrough = cutoff;
+            }
+            long available = ringBuffer.getCursor();
+            if (available < next) {
+                idle = AccrualRingBuffer.backOff(idle);
+                continue;
+            }
+            idle = 0;
+            for (; next <= available; next++) {
+                AccrualEvent event = ringBuffer.get(next);
+                if (partitionOf(event.customerId, partitions) == partition) {
+                    apply(event);
+                }
+            }
+            sequence.setRelease(available);
+        }
+    }
+
+    void stop() {
+        running = false;
+    }
+
+    /**
+     * Raises the retention cutoff; the balances are pruned to it by the consumer thread.
+     *
+     * @param cutoff the last day no read window covers any more
+     */
+    void retainAfter(LocalDate cutoff) {
+        retainAfter.accumulateAndGet(cutoff, (current, proposed) -> proposed.isAfter(current) ? proposed : current);
+    }
+
+    LocalDate getRetainAfter() {
+        return retainAfter.get();
+    }
+
+    CustomerBalance balance(String customerId) {
+        return balances.get(customerId);
+    }
+
+    long getSequence() {
+        return sequence.getAcquire();
+    }
+
+    long getEventsApplied() {
+        return eventsApplied.get();
+    }
+
+    private void apply(AccrualEvent event) {
+        boolean retained = event.transactionDate.isAfter(prunedThrough);
+        try {
+            int points = RewardPointsCalculator.calculatePoints(event.amountSpent);
+            if (retained) {
+                balances.computeIfAbsent(event.customerId, id -> new CustomerBalance())
+                        .apply(event.transactionDate, event.sign * points, event.sign);
+            }
+            accrued.accrued(partition, event.customerId, event.amountSpent, event.transactionDate, event.sign);
+        } catch (RewardProcessingException ex) {
+            if (retained) {
+                balances.computeIfAbsent(event.customerId, id -> new CustomerBalance()).markInvalid();
+            }
+        }
+        eventsApplied.setRelease(eventsApplied.getPlain() + 1); // Single writer
+        balanceChanged.accept(event.customerId);
+    }
+}
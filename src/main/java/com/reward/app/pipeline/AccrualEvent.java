@@ -0,0 +1,26 @@
+package com.reward.app.pipeline;
+
+import java.time.LocalDate;
+
+/**
+ * Pre-allocated, reusable slot of the {@link AccrualRingBuffer}.
+ * <p>
+ * Fields are written by the producer before the slot's sequence is published and only read by
+ * consumers afterwards, so no field needs to be volatile.
+ * </p>
+ */
+final class AccrualEvent {
+
+    String customerId;
+    double amountSpent;
+    LocalDate transactionDate;
+    /** {@code +1} for an added transaction, {@code -1} for a removed one. */
+    int sign;
+
+    void set(String customerId, double amountSpent, LocalDate transactionDate, int sign) {
+        this.customerId = customerId;
+        this.amountSpent = amountSpent;
+        this.transactionDate = transactionDate;
+        this.sign = sign;
+    }
+}
@@ -0,0 +1,26 @@
+package com.reward.app.pipeline;
+
+import java.time.LocalDate;
+
+/**
+ * Callback for every transaction event a consumer of the {@link PointsAccrualPipeline} has applied.
+ * <p>
+ * Callbacks run on the consumer thread of the customer's partition, so state kept per partition
+ * needs no further synchronization between events of the same partition. They must return quickly
+ * without blocking.
+ * </p>
+ */
+@FunctionalInterface
+public interface AccrualListener {
+
+    /**
+     * Called after an event has been applied to the customer's balance.
+     *
+     * @param partition       the consumer partition that applied the event
+     * @param customerId      the unique identifier of the customer
+     * @param amountSpent     the amount spent
+     * @param transactionDate the transaction date
+     * @param sign            {@code 1} for an added transaction, {@code -1} for a removed one
+     */
+    void accrued(int partition, String customerId, double amountSpent, LocalDate transactionDate, int sign);
+}
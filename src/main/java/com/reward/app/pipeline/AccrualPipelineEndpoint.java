@@ -0,0 +1,25 @@
+package com.reward.app.pipeline;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint ({@code /actuator/accrualpipeline}) exposing queue depth and consumer lag
+ * of the {@link PointsAccrualPipeline}.
+ */
+@Component
+@Endpoint(id = "accrualpipeline")
+public class AccrualPipelineEndpoint {
+
+    private final PointsAccrualPipeline accrualPipeline;
+
+    public AccrualPipelineEndpoint(PointsAccrualPipeline accrualPipeline) {
+        this.accrualPipeline = accrualPipeline;
+    }
+
+    @ReadOperation
+    public AccrualPipelineStats stats() {
+        return accrualPipeline.getStats();
+    }
+}
@@ -0,0 +1,16 @@
+package com.reward.app.pipeline;
+
+import java.util.List;
+
+/**
+ * Point-in-time statistics of the {@link PointsAccrualPipeline}.
+ *
+ * @param capacity        number of ring buffer slots
+ * @param eventsPublished total events published since startup
+ * @param queueDepth      events published but not yet seen by the slowest consumer
+ * @param consumerLag     events published but not yet seen, per consumer partition
+ * @param eventsApplied   events applied to customer balances since startup
+ */
+public record AccrualPipelineStats(int capacity, long eventsPublished, long queueDepth,
+                                   List<Long> consumerLag, long eventsApplied) {
+}
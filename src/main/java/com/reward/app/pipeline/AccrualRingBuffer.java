@@ -0,0 +1,94 @@
+package com.reward.app.pipeline;
+
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Fixed-size ring of pre-allocated {@link AccrualEvent} slots with one producer cursor and one
+ * sequence per consumer (Disruptor-style).
+ * <p>
+ * The producer claims the next slot, waits until every consumer has moved past the slot's previous
+ * lap, fills it and publishes it with a release store of the cursor. Consumers read the cursor with
+ * an acquire load and publish their progress the same way, so the hand-off needs no locks.
+ * </p>
+ */
+final class AccrualRingBuffer {
+
+    private static final int SPIN_TRIES = 100;
+    private static final int YIELD_TRIES = 200;
+    private static final long PARK_NANOS = 500_000;
+
+    private final AccrualEvent[] slots;
+    private final int mask;
+    private final AtomicLong cursor = new AtomicLong(-1);
+    private final AtomicLong[] consumerSequences;
+    private long nextSequence;
+
+    AccrualRingBuffer(int capacity, int consumers) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Ring buffer capacity must be a power of two: " + capacity);
+        }
+        this.slots = new AccrualEvent[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new AccrualEvent();
+        }
+        this.mask = capacity - 1;
+        this.consumerSequences = new AtomicLong[consumers];
+        for (int i = 0; i < consumers; i++) {
+            consumerSequences[i] = new AtomicLong(-1);
+        }
+    }
+
+    /**
+     * Publishes one event. Must only be called by a single producer thread at a time.
+     */
+    void publish(String customerId, double amountSpent, LocalDate transactionDate, int sign) {
+        long sequence = nextSequence++;
+        long wrapPoint = sequence - slots.length;
+        int idle = 0;
+        while (wrapPoint > minimumConsumerSequence()) {
+            idle = backOff(idle); // Ring is full: wait for the slowest consumer
+        }
+        slots[(int) (sequence & mask)].set(customerId, amountSpent, transactionDate, sign);
+        cursor.setRelease(sequence);
+    }
+
+    long getCursor() {
+        return cursor.getAcquire();
+    }
+
+    AccrualEvent get(long sequence) {
+        return slots[(int) (sequence & mask)];
+    }
+
+    AtomicLong consumerSequence(int consumer) {
+        return consumerSequences[consumer];
+    }
+
+    int getCapacity() {
+        return slots.length;
+    }
+
+    long minimumConsumerSequence() {
+        long minimum = Long.MAX_VALUE;
+        for (AtomicLong sequence : consumerSequences) {
+            minimum = Math.min(minimum, sequence.getAcquire());
+        }
+        return minimum;
+    }
+
+    /**
+     * Spins, then yields, then parks; returns the updated idle count.
+     */
+    static int backOff(int idle) {
+        if (idle < SPIN_TRIES) {
+            Thread.onSpinWait();
+        } else if (idle < YIELD_TRIES) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(PARK_NANOS);
+        }
+        return Math.min(idle + 1, YIELD_TRIES);
+    }
+}
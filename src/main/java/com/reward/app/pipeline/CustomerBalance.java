@@ -0,0 +1,80 @@
+package com.reward.app.pipeline;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Running reward balance of one customer, kept per transaction day.
+ * <p>
+ * Only the consumer that owns the customer's partition writes to a balance; request threads read
+ * it concurrently. Keeping daily rather than monthly totals lets reads apply the exact
+ * day-precise three-month window used by the database path. Days that have left every read
+ * window are pruned, so a balance never holds more than about three months of days.
+ * </p>
+ */
+final class CustomerBalance {
+
+    private static final DateTimeFormatter MONTH_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM");
+
+    private final NavigableMap<LocalDate, DailyAccrual> days = new ConcurrentSkipListMap<>();
+    private volatile boolean invalid;
+
+    /**
+     * Adds (or, with a negative count, removes) points accrued on one day.
+     */
+    void apply(LocalDate day, int points, int transactionCount) {
+        DailyAccrual current = days.get(day);
+        if (current == null) {
+            if (transactionCount > 0) {
+                days.put(day, new DailyAccrual(points, transactionCount));
+            }
+            return; // Removal of a transaction the pipeline never saw
+        }
+        int count = current.transactionCount() + transactionCount;
+        if (count <= 0) {
+            days.remove(day);
+        } else {
+            days.put(day, new DailyAccrual(current.points() + points, count));
+        }
+    }
+
+    /**
+     * Drops every day on or before {@code cutoff}.
+     *
+     * @return {@code true} if nothing is left and the balance can be discarded
+     */
+    boolean pruneThrough(LocalDate cutoff) {
+        days.headMap(cutoff, true).clear();
+        return days.isEmpty() && !invalid;
+    }
+
+    /**
+     * Marks the balance as unusable, e.g. after a transaction with a negative amount.
+     */
+    void markInvalid() {
+        invalid = true;
+    }
+
+    boolean isInvalid() {
+        return invalid;
+    }
+
+    /**
+     * Sums points per {@code yyyy-MM} month for every day strictly after {@code after}.
+     * Months whose transactions earned no points are included with zero.
+     */
+    Map<String, Integer> monthlyPointsAfter(LocalDate after) {
+        Map<String, Integer> monthlyPoints = new HashMap<>();
+        for (Map.Entry<LocalDate, DailyAccrual> day : days.tailMap(after, false).entrySet()) {
+            monthlyPoints.merge(day.getKey().format(MONTH_FORMATTER), day.getValue().points(), Integer::sum);
+        }
+        return monthlyPoints;
+    }
+
+    private record DailyAccrual(int points, int transactionCount) {
+    }
+}
@@ -0,0 +1,234 @@
+package com.reward.app.pipeline;
+
+import com.reward.app.model.Transaction;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * In-process pipeline that keeps per-customer reward balances up to date as transactions are written.
+ * <p>
+ * Written and removed transactions are published onto an {@link AccrualRingBuffer}. A fixed set of
+ * {@link AccrualConsumer} threads, partitioned by customer hash, applies the reward rules and
+ * updates each customer's balance without locks. Producers are serialised on this pipeline's
+ * monitor so the ring only ever sees a single producer.
+ * </p>
+ * <p>
+ * Balances only keep the days reads can still ask for. Each read raises the retention cutoff to
+ * the start of its window, and a scheduled job raises it to the start of today's three-month window
+ * when no reads arrive. A read whose window starts before the cutoff falls back to the database.
+ * </p>
+ */
+@Component
+public class PointsAccrualPipeline {
+
+    private final AccrualRingBuffer ringBuffer;
+    private final List<AccrualConsumer> consumers = new ArrayList<>();
+    private final List<Thread> consumerThreads = new ArrayList<>();
+    private final List<AccrualListener> accrualListeners = new CopyOnWriteArrayList<>();
+    private final List<Consumer<String>> balanceListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Creates the pipeline.
+     *
+     * @param ringSize  number of ring buffer slots; must be a power of two
+     * @param consumers number of consumer threads, i.e. customer partitions
+     */
+    public PointsAccrualPipeline(@Value("${reward.pipeline.ring-size:65536}") int ringSize,
+                                 @Value("${reward.pipeline.consumers:4}") int consumers) {
+        this.ringBuffer = new AccrualRingBuffer(ringSize, consumers);
+        for (int partition = 0; partition < consumers; partition++) {
+            this.consumers.add(new AccrualConsumer(partition, consumers, ringBuffer, this::notifyAccrued, this::notifyBalanceChanged));
+        }
+    }
+
+    /**
+     * Starts one daemon thread per consumer.
+     */
+    @PostConstruct
+    public void start() {
+        for (int partition = 0; partition < consumers.size(); partition++) {
+            Thread thread = new Thread(consumers.get(partition), "points-accrual-" + partition);
+            thread.setDaemon(true);
+            thread.start();
+            consumerThreads.add(thread);
+        }
+    }
+
+    /**
+     * Stops the consumer threads.
+     */
+    @PreDestroy
+    public void stop() {
+        consumers.forEach(AccrualConsumer::stop);
+        for (Thread thread : consumerThreads) {
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(1));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Prunes the days that have left today's three-month window from every balance.
+     */
+    @Scheduled(fixedDelayString = "${reward.pipeline.prune-interval-ms:3600000}")
+    public void pruneExpiredDays() {
+        LocalDate cutoff = LocalDate.now().minusMonths(3);
+        consumers.forEach(consumer -> consumer.retainAfter(cutoff));
+    }
+
+    /**
+     * Publishes a newly written transaction.
+     *
+     * @param transaction the persisted transaction
+     */
+    public void publishAdded(Transaction transaction) {
+        publish(transaction.getCustomerId(), transaction.getAmountSpent(), transaction.getTransactionDate(), 1);
+    }
+
+    /**
+     * Publishes a removed transaction.
+     *
+     * @param transaction the deleted transaction
+     */
+    public void publishRemoved(Transaction transaction) {
+        publish(transaction.getCustomerId(), transaction.getAmountSpent(), transaction.getTransactionDate(), -1);
+    }
+
+    /**
+     * Publishes a transaction given by its fields.
+     *
+     * @param customerId      the unique identifier of the customer
+     * @param amountSpent     the amount spent
+     * @param transactionDate the transaction date
+     * @param sign            {@code 1} for an added transaction, {@code -1} for a removed one
+     */
+    public synchronized void publish(String customerId, double amountSpent, LocalDate transactionDate, int sign) {
+        ringBuffer.publish(customerId, amountSpent, transactionDate, sign);
+    }
+
+    /**
+     * Reads a customer's monthly points for all days after {@code after} from the accrued balances.
+     * <p>
+     * The read first waits, up to {@code timeoutMillis}, until the customer's consumer has applied
+     * everything published so far, so callers see their own committed writes.
+     * </p>
+     *
+     * @param customerId    the unique identifier of the customer
+     * @param after         the exclusive start of the window
+     * @param timeoutMillis how long to wait for the consumer to catch up
+     * @return the monthly points, possibly empty if the customer has no transactions in the window;
+     * or an empty {@link Optional} if the balance is not usable, or the window starts before days that
+     * have already been pruned, and the caller should fall back to the database
+     */
+    public Optional<Map<String, Integer>> getMonthlyPoints(String customerId, LocalDate after, long timeoutMillis) {
+        AccrualConsumer consumer = consumers.get(AccrualConsumer.partitionOf(customerId, consumers.size()));
+        if (after.isBefore(consumer.getRetainAfter())) {
+            return Optional.empty();
+        }
+        consumer.retainAfter(after);
+        if (!awaitApplied(consumer, ringBuffer.getCursor(), timeoutMillis)) {
+            return Optional.empty();
+        }
+        CustomerBalance balance = consumer.balance(customerId);
+        Map<String, Integer> points = balance == null ? Map.of() : balance.monthlyPointsAfter(after);
+        if (after.isBefore(consumer.getRetainAfter()) || balance != null && balance.isInvalid()) {
+            return Optional.empty(); // A later window may have pruned days while this one was read
+        }
+        return Optional.of(points);
+    }
+
+    /**
+     * Registers a callback invoked with every valid transaction event once it has been applied.
+     *
+     * @param listener the callback
+     */
+    public void addAccrualListener(AccrualListener listener) {
+        accrualListeners.add(listener);
+    }
+
+    /**
+     * Notifies the balance listeners of customers whose transactions changed without passing
+     * through the pipeline, such as rows removed by a bulk delete.
+     *
+     * @param customerIds the affected customers
+     */
+    public void notifyBalancesChanged(Collection<String> customerIds) {
+        customerIds.forEach(this::notifyBalanceChanged);
+    }
+
+    /**
+     * Registers a callback invoked with the customer ID every time a customer's balance changes.
+     * <p>
+     * Callbacks run on the consumer threads and must return quickly without blocking.
+     * </p>
+     *
+     * @param listener the callback
+     */
+    public void addBalanceListener(Consumer<String> listener) {
+        balanceListeners.add(listener);
+    }
+
+    /**
+     * Reports the pipeline's queue depth and per-consumer lag.
+     *
+     * @return a snapshot of the pipeline statistics
+     */
+    public AccrualPipelineStats getStats() {
+        long published = ringBuffer.getCursor();
+        List<Long> lag = new ArrayList<>();
+        long applied = 0;
+        for (AccrualConsumer consumer : consumers) {
+            lag.add(published - consumer.getSequence());
+            applied += consumer.getEventsApplied();
+        }
+        return new AccrualPipelineStats(ringBuffer.getCapacity(), published + 1,
+                published - ringBuffer.minimumConsumerSequence(), lag, applied);
+    }
+
+    private void notifyAccrued(int partition, String customerId, double amountSpent, LocalDate transactionDate, int sign) {
+        for (AccrualListener listener : accrualListeners) {
+            try {
+                listener.accrued(partition, customerId, amountSpent, transactionDate, sign);
+            } catch (RuntimeException ex) {
+                System.out.println("Accrual listener failed for customer " + customerId + ": " + ex.getMessage());
+            }
+        }
+    }
+
+    private void notifyBalanceChanged(String customerId) {
+        for (Consumer<String> listener : balanceListeners) {
+            try {
+                listener.accept(customerId);
+            } catch (RuntimeException ex) {
+                System.out.println("Balance listener failed for customer " + customerId + ": " + ex.getMessage());
+            }
+        }
+    }
+
+    private static boolean awaitApplied(AccrualConsumer consumer, long target, long timeoutMillis) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        int idle = 0;
+        while (consumer.getSequence() < target) {
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+            idle = AccrualRingBuffer.backOff(idle);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,55 @@
+package com.reward.app.pipeline;
+
+import com.reward.app.model.Transaction;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+
+/**
+ * JPA entity listener that feeds written and deleted {@link Transaction} rows into the
+ * {@link PointsAccrualPipeline}.
+ * <p>
+ * Events are published after the surrounding transaction commits, so rolled-back writes never
+ * reach the balances. Bulk JPQL deletes bypass entity callbacks and are not published.
+ * </p>
+ */
+public class TransactionAccrualListener {
+
+    private final PointsAccrualPipeline accrualPipeline;
+
+    public TransactionAccrualListener(PointsAccrualPipeline accrualPipeline) {
+        this.accrualPipeline = accrualPipeline;
+    }
+
+    @PostPersist
+    void onPersist(Transaction transaction) {
+        String customerId = transaction.getCustomerId();
+        double amountSpent = transaction.getAmountSpent();
+        LocalDate transactionDate = transaction.getTransactionDate();
+        afterCommit(() -> accrualPipeline.publish(customerId, amountSpent, transactionDate, 1));
+    }
+
+    @PostRemove
+    void onRemove(Transaction transaction) {
+        String customerId = transaction.getCustomerId();
+        double amountSpent = transaction.getAmountSpent();
+        LocalDate transactionDate = transaction.getTransactionDate();
+        afterCommit(() -> accrualPipeline.publish(customerId, amountSpent, transactionDate, -1));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,34 @@
+package com.reward.app.recompute;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint ({@code rewardrecompute}) exposing the recompute watermark and lag.
+ * The write operation resets the watermark for a full rebuild, e.g. after a reward rule change.
+ * It is not exposed over HTTP by default; add it to {@code management.endpoints.web.exposure.include}
+ * only behind authentication.
+ */
+@Component
+@Endpoint(id = "rewardrecompute")
+public class RecomputeEndpoint {
+
+    private final RewardRecomputeService recomputeService;
+
+    public RecomputeEndpoint(RewardRecomputeService recomputeService) {
+        this.recomputeService = recomputeService;
+    }
+
+    @ReadOperation
+    public RecomputeStatus status() {
+        return recomputeService.getStatus();
+    }
+
+    @WriteOperation
+    public RecomputeStatus rebuild() {
+        recomputeService.rebuild();
+        return recomputeService.getStatus();
+    }
+}
@@ -0,0 +1,11 @@
+package com.reward.app.recompute;
+
+/**
+ * Outcome of one incremental recompute.
+ *
+ * @param fromSequence the watermark before the run, exclusive
+ * @param toSequence   the new watermark, inclusive
+ * @param pairs        number of recomputed (customer, month) pairs
+ */
+public record RecomputeResult(long fromSequence, long toSequence, int pairs) {
+}
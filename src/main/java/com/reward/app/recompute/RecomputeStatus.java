@@ -0,0 +1,11 @@
+package com.reward.app.recompute;
+
+/**
+ * Point-in-time progress of the {@link RewardRecomputeService}.
+ *
+ * @param watermark   highest ingest sequence whose changes are reflected in the read model
+ * @param horizon     highest ingest sequence seen by the last run, processed by the next one
+ * @param pendingRows transactions above the watermark
+ */
+public record RecomputeStatus(long watermark, long horizon, long pendingRows) {
+}
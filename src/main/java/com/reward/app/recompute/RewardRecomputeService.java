@@ -0,0 +1,314 @@
+package com.reward.app.recompute;
+
+import com.reward.app.JsonDataLoader;
+import com.reward.app.analytics.RewardAnalyticsService;
+import com.reward.app.model.JournalCheckpoint;
+import com.reward.app.model.Transaction;
+import com.reward.app.repository.JournalCheckpointRepository;
+import com.reward.app.service.CustomerDictionary;
+import com.reward.app.service.RewardPointsCalculator;
+import com.reward.app.service.RewardSnapshotService;
+import com.reward.app.service.TransactionArchiveService;
+import com.reward.app.service.TransactionsArchivedEvent;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the {@code customer_monthly_points} read model up to date by incremental recomputes.
+ * <p>
+ * Every transaction row gets a monotonically increasing {@code ingest_sequence} from the database.
+ * A recompute reads the (customer, month) pairs of the rows above the last committed watermark,
+ * recomputes only those pairs from their rows in the table, and advances the watermark in the same
+ * database transaction. Its cost is proportional to the rows ingested since the previous run,
+ * not to the history.
+ * </p>
+ * <p>
+ * Sequence values are drawn at insert but become visible at commit, so a row with a lower sequence
+ * can appear after a higher one. A run therefore only advances the watermark to the highest
+ * sequence seen by the previous run (the horizon). {@code spring.transaction.default-timeout} must be
+ * shorter than the interval, which is checked on startup, so writers that drew a sequence up to the
+ * horizon have normally committed or rolled back by the next run. This is a heuristic, not a guarantee:
+ * Spring enforces the timeout when a statement starts, not at commit, so a writer stalled between its
+ * last statement and its commit can still commit a row below the watermark. Such a row is only counted
+ * by a {@link #rebuild()}. Recomputing a pair is idempotent, so reprocessing is always safe.
+ * </p>
+ * <p>
+ * Deleted rows have no sequence. Runs start once the initial data load, which empties the table,
+ * has completed; afterwards rows only leave the table when a month is archived. Archived rows are
+ * kept per pair in separate columns, seeded from the archives by the first run after startup and
+ * increased by each {@link TransactionsArchivedEvent}, so no run reads an archive again. Closed
+ * months' points-per-customer analytics are refreshed from the read model whenever a run changes them.
+ * </p>
+ */
+@Service
+public class RewardRecomputeService {
+
+    static final String WATERMARK_CHECKPOINT = "recompute:watermark";
+    static final String HORIZON_CHECKPOINT = "recompute:horizon";
+
+    /** A run writes no transactions, so it may outlast the default timeout, e.g. after a rebuild. */
+    private static final int RUN_TIMEOUT_SECONDS = 3600;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JournalCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private TransactionArchiveService archiveService;
+
+    @Autowired
+    private RewardSnapshotService snapshotService;
+
+    @Autowired(required = false)
+    private RewardAnalyticsService analyticsService;
+
+    @Autowired
+    private CustomerDictionary customerDictionary;
+
+    @Autowired
+    private JsonDataLoader jsonDataLoader;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${reward.recompute.interval-ms:60000}")
+    private long intervalMillis;
+
+    /** Committed archive moves not yet added to the read model. */
+    private final Queue<TransactionsArchivedEvent> pendingArchives = new ConcurrentLinkedQueue<>();
+
+    /** Whether archived rows have been added to the read model since startup; guarded by this. */
+    private boolean archivesSeeded;
+
+    /**
+     * Validates that write transactions time out within one recompute interval.
+     *
+     * @throws IllegalStateException if there is no default transaction timeout or it is not shorter than the interval
+     */
+    @PostConstruct
+    void validateTimeout() {
+        int timeout = transactionManager instanceof AbstractPlatformTransactionManager manager
+                ? manager.getDefaultTimeout() : TransactionDefinition.TIMEOUT_DEFAULT;
+        if (timeout <= 0 || TimeUnit.SECONDS.toMillis(timeout) >= intervalMillis) {
+            throw new IllegalStateException("spring.transaction.default-timeout must be set and shorter than reward.recompute.interval-ms ("
+                    + intervalMillis + " ms) but was " + timeout + " s");
+        }
+    }
+
+    /**
+     * Queues the totals of an archived month once its move has committed.
+     *
+     * @param event the moved rows' totals
+     */
+    @TransactionalEventListener
+    public void onTransactionsArchived(TransactionsArchivedEvent event) {
+        pendingArchives.add(event);
+    }
+
+    /**
+     * Runs an incremental recompute once the initial data load has completed.
+     */
+    @Scheduled(fixedDelayString = "${reward.recompute.interval-ms:60000}", initialDelayString = "${reward.recompute.interval-ms:60000}")
+    public void recomputeChanges() {
+        if (!jsonDataLoader.isCompleted()) {
+            return;
+        }
+        try {
+            RecomputeResult result = recompute();
+            if (result.pairs() > 0) {
+                System.out.println("Recomputed " + result.pairs() + " customer months for ingest sequences "
+                        + result.fromSequence() + " to " + result.toSequence() + ".");
+            }
+        } catch (DataAccessException ex) {
+            System.out.println("Reward recompute failed, will retry: " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Adds archived rows to the read model, recomputes the pairs touched by them and by rows between the
+     * watermark and the horizon, then advances both.
+     *
+     * @return the processed sequence range and the number of recomputed pairs
+     */
+    public synchronized RecomputeResult recompute() {
+        List<TransactionsArchivedEvent> archives = new ArrayList<>(pendingArchives);
+        boolean seeding = !archivesSeeded;
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setTimeout(RUN_TIMEOUT_SECONDS);
+        RecomputeResult result = template.execute(status -> {
+            long watermark = position(WATERMARK_CHECKPOINT);
+            long horizon = Math.max(watermark, position(HORIZON_CHECKPOINT));
+            long nextHorizon = jdbcTemplate.queryForObject(
+                    "select coalesce(max(ingest_sequence), 0) from transaction", Long.class);
+
+            Set<CustomerMonth> touched = new LinkedHashSet<>();
+            if (seeding) {
+                archives.clear();
+                archives.addAll(archiveService.whileNotArchiving(() -> {
+                    seedArchivedMonths(touched);
+                    return new ArrayList<>(pendingArchives); // Every move queued so far is in the archives just read
+                }));
+            } else {
+                archives.forEach(event -> addArchived(event.month(), event.points(), event.transactions(), touched));
+            }
+            if (horizon > watermark) {
+                jdbcTemplate.query("select distinct customer_key, transaction_date from transaction"
+                                + " where ingest_sequence > ? and ingest_sequence <= ?",
+                        rs -> {
+                            touched.add(new CustomerMonth(rs.getInt(1), YearMonth.from(rs.getDate(2).toLocalDate())));
+                        }, watermark, horizon);
+            }
+            recomputePairs(touched);
+            refreshClosedMonthAnalytics(touched);
+
+            checkpointRepository.save(new JournalCheckpoint(WATERMARK_CHECKPOINT, horizon));
+            checkpointRepository.save(new JournalCheckpoint(HORIZON_CHECKPOINT, nextHorizon));
+            return new RecomputeResult(watermark, horizon, touched.size());
+        });
+        archivesSeeded = true;
+        archives.forEach(pendingArchives::remove);
+        return result;
+    }
+
+    /**
+     * Resets the watermark so the next runs recompute every month still held in the table, e.g. after a rule change.
+     * Archived rows keep their last computed points.
+     */
+    public synchronized void rebuild() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            jdbcTemplate.update("update customer_monthly_points set points = archived_points, transaction_count = archived_transaction_count");
+            jdbcTemplate.update("delete from customer_monthly_points where transaction_count = 0");
+            checkpointRepository.save(new JournalCheckpoint(WATERMARK_CHECKPOINT, 0));
+        });
+    }
+
+    /**
+     * Reports the watermark, the horizon and how many rows are waiting to be processed.
+     *
+     * @return the current status
+     */
+    public RecomputeStatus getStatus() {
+        long watermark = position(WATERMARK_CHECKPOINT);
+        long pending = jdbcTemplate.queryForObject(
+                "select count(*) from transaction where ingest_sequence > ?", Long.class, watermark);
+        return new RecomputeStatus(watermark, position(HORIZON_CHECKPOINT), pending);
+    }
+
+    /**
+     * Adds every archived row, reading each archive once. Must run while no month is being archived.
+     */
+    private void seedArchivedMonths(Set<CustomerMonth> touched) {
+        for (YearMonth month : archiveService.getArchivedMonths()) {
+            Map<String, Integer> points = new HashMap<>();
+            Map<String, Integer> transactions = new HashMap<>();
+            for (Transaction transaction : archiveService.findArchivedTransactions(null, month)) {
+                points.merge(transaction.getCustomerId(), RewardPointsCalculator.calculatePoints(transaction.getAmountSpent()), Integer::sum);
+                transactions.merge(transaction.getCustomerId(), 1, Integer::sum);
+            }
+            addArchived(month, points, transactions, touched);
+        }
+    }
+
+    /**
+     * Adds archived rows to the archived columns of their pairs, which are then recomputed.
+     */
+    private void addArchived(YearMonth month, Map<String, Integer> points, Map<String, Integer> transactions, Set<CustomerMonth> touched) {
+        List<Object[]> updates = new ArrayList<>();
+        List<CustomerMonth> pairs = new ArrayList<>();
+        points.forEach((customerId, customerPoints) -> {
+            CustomerMonth pair = new CustomerMonth(customerDictionary.getOrCreateKey(customerId), month);
+            pairs.add(pair);
+            updates.add(new Object[]{customerPoints, transactions.get(customerId), pair.customerKey(), month.toString()});
+        });
+        int[] updated = jdbcTemplate.batchUpdate("update customer_monthly_points set archived_points = archived_points + ?,"
+                + " archived_transaction_count = archived_transaction_count + ? where customer_key = ? and reward_month = ?", updates);
+        List<Object[]> inserts = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                Object[] update = updates.get(i);
+                inserts.add(new Object[]{update[2], update[3], update[0], update[1]});
+            }
+        }
+        jdbcTemplate.batchUpdate("insert into customer_monthly_points (customer_key, reward_month, points, transaction_count,"
+                + " archived_points, archived_transaction_count) values (?, ?, 0, 0, ?, ?)", inserts);
+        touched.addAll(pairs);
+    }
+
+    /**
+     * Recomputes each touched pair from its rows in the table plus its archived rows.
+     */
+    private void recomputePairs(Set<CustomerMonth> touched) {
+        List<Object[]> updates = new ArrayList<>();
+        for (CustomerMonth pair : touched) {
+            int[] total = new int[2]; // points, transaction count
+            jdbcTemplate.query("select amount_spent from transaction where customer_key = ? and transaction_date between ? and ?",
+                    rs -> {
+                        total[0] += RewardPointsCalculator.calculatePoints(rs.getDouble(1));
+                        total[1]++;
+                    }, pair.customerKey(), Date.valueOf(pair.month().atDay(1)), Date.valueOf(pair.month().atEndOfMonth()));
+            updates.add(new Object[]{total[0], total[1], pair.customerKey(), pair.month().toString()});
+        }
+
+        int[] updated = jdbcTemplate.batchUpdate("update customer_monthly_points set points = archived_points + ?,"
+                + " transaction_count = archived_transaction_count + ? where customer_key = ? and reward_month = ?", updates);
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> deletes = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            Object[] update = updates.get(i);
+            if (updated[i] == 0 && (int) update[1] > 0) {
+                inserts.add(new Object[]{update[2], update[3], update[0], update[1]});
+            } else if (updated[i] > 0) {
+                deletes.add(new Object[]{update[2], update[3]});
+            }
+        }
+        jdbcTemplate.batchUpdate("insert into customer_monthly_points (customer_key, reward_month, points, transaction_count)"
+                + " values (?, ?, ?, ?)", inserts);
+        jdbcTemplate.batchUpdate("delete from customer_monthly_points where customer_key = ? and reward_month = ?"
+                + " and transaction_count = 0", deletes);
+    }
+
+    /**
+     * Rewrites the points-per-customer digest of every touched month that has been closed.
+     */
+    private void refreshClosedMonthAnalytics(Set<CustomerMonth> touched) {
+        Optional<YearMonth> closedThrough = snapshotService.getClosedThrough();
+        if (analyticsService == null || closedThrough.isEmpty()) {
+            return;
+        }
+        touched.stream().map(CustomerMonth::month).filter(month -> !month.isAfter(closedThrough.get())).distinct()
+                .forEach(month -> analyticsService.recordCustomerPoints(month, jdbcTemplate.queryForList(
+                        "select points from customer_monthly_points where reward_month = ?", Integer.class, month.toString())));
+    }
+
+    private long position(String checkpoint) {
+        return checkpointRepository.findById(checkpoint).map(JournalCheckpoint::getPosition).orElse(0L);
+    }
+
+    private record CustomerMonth(int customerKey, YearMonth month) {
+    }
+}
@@ -0,0 +1,28 @@
+package com.reward.app.repository;
+
+import com.reward.app.model.JournalCheckpoint;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+
+import java.util.List;
+
+/**
+ * Repository interface for managing {@link JournalCheckpoint} entities.
+ * <p>
+ * Each journal keeps a single row keyed by its name holding the last replayed file position.
+ * </p>
+ */
+public interface JournalCheckpointRepository extends JpaRepository<JournalCheckpoint, String> {
+
+    /**
+     * Locks the checkpoints of a source and of every source whose name starts with a prefix, so their
+     * positions cannot advance until the current transaction ends.
+     *
+     * @param journalName the name of one source
+     * @param prefix      the name prefix of the other sources
+     * @return the locked checkpoints
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<JournalCheckpoint> findForUpdateByJournalNameOrJournalNameStartingWith(String journalName, String prefix);
+}
@@ -0,0 +1,24 @@
+package com.reward.app.repository;
+
+import com.reward.app.model.MonthlyAnalytics;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+/**
+ * Repository interface for managing {@link MonthlyAnalytics} entities.
+ * <p>
+ * Each month keeps a single row keyed by its {@code yyyy-MM} name.
+ * </p>
+ */
+public interface MonthlyAnalyticsRepository extends JpaRepository<MonthlyAnalytics, String> {
+
+    /**
+     * Retrieves the analytics of a range of months, inclusive.
+     *
+     * @param fromMonth the first month, in {@code yyyy-MM} format
+     * @param toMonth   the last month, in {@code yyyy-MM} format
+     * @return the analytics of the months that have any
+     */
+    List<MonthlyAnalytics> findByMonthBetween(String fromMonth, String toMonth);
+}
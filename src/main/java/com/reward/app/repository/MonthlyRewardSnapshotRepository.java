@@ -0,0 +1,38 @@
+package com.reward.app.repository;
+
+import com.reward.app.model.MonthlyRewardSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+/**
+ * Repository interface for managing {@link MonthlyRewardSnapshot} entities.
+ * <p>
+ * Snapshots are written when a month closes and rewritten only when its late transactions are archived.
+ * </p>
+ */
+public interface MonthlyRewardSnapshotRepository extends JpaRepository<MonthlyRewardSnapshot, Long> {
+
+    /**
+     * Retrieves a customer's snapshots for a range of months, inclusive.
+     *
+     * @param customerId the unique identifier of the customer
+     * @param fromMonth  the first month, in {@code yyyy-MM} format
+     * @param toMonth    the last month, in {@code yyyy-MM} format
+     * @return the snapshots of the months in which the customer had transactions
+     */
+    List<MonthlyRewardSnapshot> findByCustomerIdAndMonthBetween(String customerId, String fromMonth, String toMonth);
+
+    /**
+     * Deletes every snapshot of a month in a single statement.
+     *
+     * @param month the month, in {@code yyyy-MM} format
+     * @return the number of deleted snapshots
+     */
+    @Modifying
+    @Query("delete from MonthlyRewardSnapshot s where s.month = :month")
+    int deleteByMonth(@Param("month") String month);
+}
@@ -2,9 +2,14 @@ package com.reward.app.repository;
 
 import com.reward.app.model.Transaction;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for managing {@link Transaction} entities.
@@ -23,4 +28,78 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
      * @return a list of {@link Transaction} entities matching the criteria
      */
     List<Transaction> findByCustomerIdAndTransactionDateAfter(String customerId, LocalDate threeMonthsAgo);
+
+    /**
+     * Retrieves a customer's transactions that occurred within the given date range, inclusive.
+     *
+     * @param customerId the unique identifier of the customer
+     * @param start      the first date of the range
+     * @param end        the last date of the range
+     * @return a list of {@link Transaction} entities matching the criteria
+     */
+    List<Transaction> findByCustomerIdAndTransactionDateBetween(String customerId, LocalDate start, LocalDate end);
+
+    /**
+     * Retrieves a customer's transactions within the given date range that were ingested after the given sequence.
+     *
+     * @param customerId    the unique identifier of the customer
+     * @param afterSequence the exclusive lower bound of the ingest sequence
+     * @param start         the first date of the range
+     * @param end           the last date of the range
+     * @return a list of {@link Transaction} entities matching the criteria
+     */
+    List<Transaction> findByCustomerIdAndIngestSequenceGreaterThanAndTransactionDateBetween(
+            String customerId, long afterSequence, LocalDate start, LocalDate end);
+
+    /**
+     * Returns the highest ingest sequence assigned to a transaction still held in the table.
+     *
+     * @return the sequence, or 0 if the table is empty
+     */
+    @Query("select coalesce(max(t.ingestSequence), 0) from Transaction t")
+    long findMaxIngestSequence();
+
+    /**
+     * Retrieves the transaction with the earliest transaction date still held in the table.
+     *
+     * @return the oldest {@link Transaction}, or empty if the table is empty
+     */
+    Optional<Transaction> findFirstByOrderByTransactionDateAsc();
+
+    /**
+     * Streams all transactions that occurred within the given date range, inclusive.
+     * <p>
+     * The stream must be consumed inside a transaction and closed by the caller.
+     * </p>
+     *
+     * @param start the first date of the range
+     * @param end   the last date of the range
+     * @return a stream of {@link Transaction} entities ordered by id
+     */
+    Stream<Transaction> streamByTransactionDateBetweenOrderById(LocalDate start, LocalDate end);
+
+    /**
+     * Streams the transactions within the given date range, inclusive, that were ingested up to the given sequence.
+     * <p>
+     * The stream must be consumed inside a transaction and closed by the caller.
+     * </p>
+     *
+     * @param start       the first date of the range
+     * @param end         the last date of the range
+     * @param maxSequence the inclusive upper bound of the ingest sequence
+     * @return a stream of {@link Transaction} entities ordered by id
+     */
+    Stream<Transaction> streamByTransactionDateBetweenAndIngestSequenceLessThanEqualOrderById(
+            LocalDate start, LocalDate end, long maxSequence);
+
+    /**
+     * Deletes all transactions that occurred within the given date range, inclusive, in a single statement.
+     *
+     * @param start the first date of the range
+     * @param end   the last date of the range
+     * @return the number of deleted rows
+     */
+    @Modifying
+    @Query("delete from Transaction t where t.transactionDate between :start and :end")
+    int deleteByTransactionDateBetween(@Param("start") LocalDate start, @Param("end") LocalDate end);
 }
@@ -0,0 +1,24 @@
+package com.reward.app.request;
+
+import com.reward.app.dto.RewardRuleSet;
+
+import java.util.List;
+
+public class RewardSimulationRequest {
+    private List<RewardRuleSet> ruleSets;
+
+    public RewardSimulationRequest() {
+    }
+
+    public RewardSimulationRequest(List<RewardRuleSet> ruleSets) {
+        this.ruleSets = ruleSets;
+    }
+
+    public List<RewardRuleSet> getRuleSets() {
+        return ruleSets;
+    }
+
+    public void setRuleSets(List<RewardRuleSet> ruleSets) {
+        this.ruleSets = ruleSets;
+    }
+}
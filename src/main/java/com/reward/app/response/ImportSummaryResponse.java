@@ -0,0 +1,73 @@
+package com.reward.app.response;
+
+import java.util.List;
+
+public class ImportSummaryResponse {
+    private String format;
+    private long acceptedRows;
+    private long rejectedRows;
+    private long durationMillis;
+    private long rowsPerSecond;
+    private List<String> sampleRejections;
+
+    public ImportSummaryResponse() {
+    }
+
+    public ImportSummaryResponse(String format, long acceptedRows, long rejectedRows, long durationMillis,
+                                 long rowsPerSecond, List<String> sampleRejections) {
+        this.format = format;
+        this.acceptedRows = acceptedRows;
+        this.rejectedRows = rejectedRows;
+        this.durationMillis = durationMillis;
+        this.rowsPerSecond = rowsPerSecond;
+        this.sampleRejections = sampleRejections;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public void setFormat(String format) {
+        this.format = format;
+    }
+
+    public long getAcceptedRows() {
+        return acceptedRows;
+    }
+
+    public void setAcceptedRows(long acceptedRows) {
+        this.acceptedRows = acceptedRows;
+    }
+
+    public long getRejectedRows() {
+        return rejectedRows;
+    }
+
+    public void setRejectedRows(long rejectedRows) {
+        this.rejectedRows = rejectedRows;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public void setDurationMillis(long durationMillis) {
+        this.durationMillis = durationMillis;
+    }
+
+    public long getRowsPerSecond() {
+        return rowsPerSecond;
+    }
+
+    public void setRowsPerSecond(long rowsPerSecond) {
+        this.rowsPerSecond = rowsPerSecond;
+    }
+
+    public List<String> getSampleRejections() {
+        return sampleRejections;
+    }
+
+    public void setSampleRejections(List<String> sampleRejections) {
+        this.sampleRejections = sampleRejections;
+    }
+}
@@ -0,0 +1,24 @@
+package com.reward.app.response;
+
+import com.reward.app.dto.MonthlyAnalyticsDTO;
+
+import java.util.List;
+
+public class RewardAnalyticsResponse {
+    private List<MonthlyAnalyticsDTO> months;
+
+    public RewardAnalyticsResponse() {
+    }
+
+    public RewardAnalyticsResponse(List<MonthlyAnalyticsDTO> months) {
+        this.months = months;
+    }
+
+    public List<MonthlyAnalyticsDTO> getMonths() {
+        return months;
+    }
+
+    public void setMonths(List<MonthlyAnalyticsDTO> months) {
+        this.months = months;
+    }
+}
@@ -0,0 +1,86 @@
+package com.reward.app.response;
+
+import com.reward.app.dto.RewardSimulationResultDTO;
+
+import java.util.List;
+
+public class RewardSimulationResponse {
+    private long transactionCount;
+    private long skippedTransactions;
+    private boolean vectorized;
+    private long loadMillis;
+    private long evaluationMillis;
+    private RewardSimulationResultDTO baseline;
+    private List<RewardSimulationResultDTO> results;
+
+    public RewardSimulationResponse() {
+    }
+
+    public RewardSimulationResponse(long transactionCount, long skippedTransactions, boolean vectorized,
+                                    long loadMillis, long evaluationMillis,
+                                    RewardSimulationResultDTO baseline, List<RewardSimulationResultDTO> results) {
+        this.transactionCount = transactionCount;
+        this.skippedTransactions = skippedTransactions;
+        this.vectorized = vectorized;
+        this.loadMillis = loadMillis;
+        this.evaluationMillis = evaluationMillis;
+        this.baseline = baseline;
+        this.results = results;
+    }
+
+    public long getTransactionCount() {
+        return transactionCount;
+    }
+
+    public void setTransactionCount(long transactionCount) {
+        this.transactionCount = transactionCount;
+    }
+
+    public long getSkippedTransactions() {
+        return skippedTransactions;
+    }
+
+    public void setSkippedTransactions(long skippedTransactions) {
+        this.skippedTransactions = skippedTransactions;
+    }
+
+    public boolean isVectorized() {
+        return vectorized;
+    }
+
+    public void setVectorized(boolean vectorized) {
+        this.vectorized = vectorized;
+    }
+
+    public long getLoadMillis() {
+        return loadMillis;
+    }
+
+    public void setLoadMillis(long loadMillis) {
+        this.loadMillis = loadMillis;
+    }
+
+    public long getEvaluationMillis() {
+        return evaluationMillis;
+    }
+
+    public void setEvaluationMillis(long evaluationMillis) {
+        this.evaluationMillis = evaluationMillis;
+    }
+
+    public RewardSimulationResultDTO getBaseline() {
+        return baseline;
+    }
+
+    public void setBaseline(RewardSimulationResultDTO baseline) {
+        this.baseline = baseline;
+    }
+
+    public List<RewardSimulationResultDTO> getResults() {
+        return results;
+    }
+
+    public void setResults(List<RewardSimulationResultDTO> results) {
+        this.results = results;
+    }
+}
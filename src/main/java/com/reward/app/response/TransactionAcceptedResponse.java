@@ -0,0 +1,30 @@
+package com.reward.app.response;
+
+public class TransactionAcceptedResponse {
+    private String customerId;
+    private long journalPosition;
+
+    public TransactionAcceptedResponse() {
+    }
+
+    public TransactionAcceptedResponse(String customerId, long journalPosition) {
+        this.customerId = customerId;
+        this.journalPosition = journalPosition;
+    }
+
+    public String getCustomerId() {
+        return customerId;
+    }
+
+    public void setCustomerId(String customerId) {
+        this.customerId = customerId;
+    }
+
+    public long getJournalPosition() {
+        return journalPosition;
+    }
+
+    public void setJournalPosition(long journalPosition) {
+        this.journalPosition = journalPosition;
+    }
+}
@@ -0,0 +1,161 @@
+package com.reward.app.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * In-memory cache over the {@code customer} dictionary table.
+ * <p>
+ * Maps external customer ID strings to the compact integer keys that transactions are stored
+ * and indexed by, in both directions. Lookups hit the database only on a cache miss.
+ * </p>
+ * <p>
+ * The dictionary is accessed with {@link JdbcTemplate} rather than a JPA repository because it is
+ * called from {@link com.reward.app.model.CustomerKeyConverter} while Hibernate is flushing.
+ * New keys join the caller's transaction. Until it commits they are only visible to that
+ * transaction, so no other thread can store rows under a key that may still be rolled back.
+ * </p>
+ */
+@Service
+public class CustomerDictionary {
+
+    /** Bound in place of the key of a customer that is not in the dictionary; matches no rows. */
+    public static final int UNKNOWN_KEY = -1;
+
+    private final ConcurrentMap<String, Integer> keysByExternalId = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Integer, String> externalIdsByKey = new ConcurrentHashMap<>();
+    /** Transaction resource key of the keys created by the current transaction. */
+    private final Object pendingKeysResource = new Object();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Looks up the key of a known customer without registering unknown ones.
+     *
+     * @param externalId the external customer ID
+     * @return the customer's key, or empty if the customer has never been seen
+     */
+    public Optional<Integer> findKey(String externalId) {
+        Integer key = keysByExternalId.get(externalId);
+        if (key == null) {
+            key = currentPendingKeys().get(externalId);
+        }
+        if (key != null) {
+            return Optional.of(key);
+        }
+        List<Integer> keys = jdbcTemplate.queryForList("select id from customer where external_id = ?", Integer.class, externalId);
+        if (keys.isEmpty()) {
+            return Optional.empty();
+        }
+        remember(externalId, keys.get(0));
+        return Optional.of(keys.get(0));
+    }
+
+    /**
+     * Returns the key of a customer, registering the customer in the dictionary if needed.
+     *
+     * @param externalId the external customer ID
+     * @return the customer's key
+     */
+    public int getOrCreateKey(String externalId) {
+        return findKey(externalId).orElseGet(() -> createKey(externalId));
+    }
+
+    /**
+     * Resolves a key back to its external customer ID.
+     *
+     * @param key the customer key
+     * @return the external customer ID
+     * @throws IllegalStateException if the key is not in the dictionary
+     */
+    public String getExternalId(int key) {
+        String externalId = externalIdsByKey.get(key);
+        if (externalId != null) {
+            return externalId;
+        }
+        for (Map.Entry<String, Integer> pending : currentPendingKeys().entrySet()) {
+            if (pending.getValue() == key) {
+                return pending.getKey();
+            }
+        }
+        List<String> externalIds = jdbcTemplate.queryForList("select external_id from customer where id = ?", String.class, key);
+        if (externalIds.isEmpty()) {
+            throw new IllegalStateException("Unknown customer key: " + key);
+        }
+        remember(externalIds.get(0), key);
+        return externalIds.get(0);
+    }
+
+    private int createKey(String externalId) {
+        GeneratedKeyHolder keyHolder = new GeneratedKeyHolder();
+        try {
+            jdbcTemplate.update(connection -> {
+                PreparedStatement statement = connection.prepareStatement(
+                        "insert into customer (external_id) values (?)", new String[]{"id"});
+                statement.setString(1, externalId);
+                return statement;
+            }, keyHolder);
+        } catch (DuplicateKeyException ex) {
+            // Another transaction registered the same customer first
+            return findKey(externalId).orElseThrow(() -> ex);
+        }
+
+        int key = keyHolder.getKeyAs(Number.class).intValue();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            pendingKeys().put(externalId, key);
+        } else {
+            remember(externalId, key); // Auto-committed
+        }
+        return key;
+    }
+
+    /**
+     * Returns the keys created by the current transaction, which are cached once it commits.
+     */
+    @SuppressWarnings("unchecked")
+    private Map<String, Integer> pendingKeys() {
+        Map<String, Integer> pending = (Map<String, Integer>) TransactionSynchronizationManager.getResource(pendingKeysResource);
+        if (pending == null) {
+            Map<String, Integer> created = new HashMap<>();
+            TransactionSynchronizationManager.bindResource(pendingKeysResource, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    created.forEach(CustomerDictionary.this::remember);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(pendingKeysResource);
+                }
+            });
+            pending = created;
+        }
+        return pending;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Integer> currentPendingKeys() {
+        Map<String, Integer> pending = (Map<String, Integer>) TransactionSynchronizationManager.getResource(pendingKeysResource);
+        return pending == null ? Map.of() : pending;
+    }
+
+    private void remember(String externalId, int key) {
+        keysByExternalId.put(externalId, key);
+        externalIdsByKey.put(key, externalId);
+    }
+}
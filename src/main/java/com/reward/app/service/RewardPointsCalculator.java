@@ -0,0 +1,36 @@
+package com.reward.app.service;
+
+import com.reward.app.exception.RewardProcessingException;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Reward point rules shared by every component that turns spend into points.
+ */
+public final class RewardPointsCalculator {
+
+    private RewardPointsCalculator() {
+    }
+
+    /**
+     * Calculates reward points based on the amount spent.
+     * <p>
+     * Reward calculation rules:
+     * <ul>
+     *     <li>For every dollar spent above $100, 2 points are awarded per dollar.</li>
+     *     <li>For amounts between $50 and $100, 1 point is awarded per dollar.</li>
+     *     <li>Amounts below $50 do not earn any points.</li>
+     * </ul>
+     * </p>
+     *
+     * @param amountSpent The amount spent in a transaction.
+     * @return The calculated reward points.
+     * @throws RewardProcessingException if the amount spent is negative.
+     */
+    public static int calculatePoints(double amountSpent) {
+        if (amountSpent < 0) {
+            throw new RewardProcessingException("Invalid data: Amount spent cannot be negative: " + amountSpent, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+        return (amountSpent > 100 ? 2 * ((int) amountSpent - 100) : 0) +
+                (amountSpent > 50 ? ((int) Math.min(amountSpent, 100) - 50) : 0);
+    }
+}
@@ -3,6 +3,8 @@ package com.reward.app.service;
 import com.reward.app.dto.RewardPointsDTO;
 import com.reward.app.exception.RewardProcessingException;
 
+import java.time.LocalDate;
+
 /**
  * Service interface for calculating and retrieving reward points.
  * <p>
@@ -24,4 +26,17 @@ public interface RewardService {
      * @throws RewardProcessingException if no transactions are found for the given customer ID
      */
     RewardPointsDTO getMonthlyRewards(String customerId);
+
+    /**
+     * Calculates monthly and total reward points for a given customer as they stood on a past date.
+     * <p>
+     * The three-month window ends on {@code asOf} instead of today.
+     * </p>
+     *
+     * @param customerId the unique identifier of the customer
+     * @param asOf       the last day of the three-month window, or {@code null} for today
+     * @return a {@link RewardPointsDTO} containing total and monthly reward details
+     * @throws RewardProcessingException if {@code asOf} is in the future or no transactions are found
+     */
+    RewardPointsDTO getMonthlyRewards(String customerId, LocalDate asOf);
 }
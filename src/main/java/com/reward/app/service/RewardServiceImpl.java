@@ -1,16 +1,20 @@
 package com.reward.app.service;
 
+import com.reward.app.diagnostics.RequestDiagnostics;
 import com.reward.app.dto.RewardPointsDTO;
 import com.reward.app.exception.RewardProcessingException;
 import com.reward.app.model.Transaction;
+import com.reward.app.pipeline.PointsAccrualPipeline;
 import com.reward.app.repository.TransactionRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataAccessException;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -31,35 +35,29 @@ public class RewardServiceImpl implements RewardService {
     @Autowired
     private TransactionRepository transactionRepository;
 
-    /**
-     * Calculates reward points based on the amount spent.
-     * <p>
-     * Reward calculation rules:
-     * <ul>
-     *     <li>For every dollar spent above $100, 2 points are awarded per dollar.</li>
-     *     <li>For amounts between $50 and $100, 1 point is awarded per dollar.</li>
-     *     <li>Amounts below $50 do not earn any points.</li>
-     * </ul>
-     * </p>
-     *
-     * @param amountSpent The amount spent in a transaction.
-     * @return The calculated reward points.
-     * @throws RewardProcessingException if the amount spent is negative.
-     */
-    private int calculatePoints(double amountSpent) {
-        if (amountSpent < 0) {
-            throw new RewardProcessingException("Invalid data: Amount spent cannot be negative: " + amountSpent, HttpStatus.INTERNAL_SERVER_ERROR);
-        }
-        return (amountSpent > 100 ? 2 * ((int) amountSpent - 100) : 0) +
-                (amountSpent > 50 ? ((int) Math.min(amountSpent, 100) - 50) : 0);
-    }
+    @Autowired
+    private CustomerDictionary customerDictionary;
+
+    @Autowired
+    private RewardSnapshotService snapshotService;
+
+    @Autowired(required = false)
+    private PointsAccrualPipeline accrualPipeline;
+
+    @Value("${reward.pipeline.serve-reads:false}")
+    private boolean serveReadsFromPipeline;
+
+    @Value("${reward.pipeline.read-timeout-ms:50}")
+    private long pipelineReadTimeoutMillis;
 
     /**
      * Fetches transactions for the last three months and calculates monthly and total reward points
      * for a given customer.
      * <p>
      * The method retrieves transactions, groups them by month, calculates reward points,
-     * and returns a summary with total and monthly points.
+     * and returns a summary with total and monthly points. When {@code reward.pipeline.serve-reads}
+     * is enabled, the balances accrued by the {@link PointsAccrualPipeline} are used instead,
+     * falling back to the database if they are not usable.
      * </p>
      *
      * @param customerId The unique identifier of the customer whose transactions are being analyzed.
@@ -70,18 +68,72 @@ public class RewardServiceImpl implements RewardService {
     public RewardPointsDTO getMonthlyRewards(String customerId) {
         System.out.println("Service method called with customerId: " + customerId);
 
+        // Serve from accrued balances when enabled
+        Optional<Map<String, Integer>> accruedPoints = readAccruedPoints(customerId);
+        if (accruedPoints.isPresent()) {
+            if (accruedPoints.get().isEmpty()) {
+                throw new RewardProcessingException("No transactions found", HttpStatus.NOT_FOUND);
+            }
+            return toRewardPoints(customerId, accruedPoints.get());
+        }
+
         // Fetch transactions and handle if empty
         List<Transaction> transactions = Optional.ofNullable(fetchRecentTransactions(customerId))
                 .filter(list -> !list.isEmpty())
                 .orElseThrow(() -> new RewardProcessingException("No transactions found", HttpStatus.NOT_FOUND));
 
         // Process transactions and calculate points
-        Map<String, Integer> monthlyPoints = transactions.stream()
+        Map<String, Integer> monthlyPoints = RequestDiagnostics.timed("aggregate", () -> transactions.stream()
                 .collect(Collectors.groupingBy(
                         tx -> tx.getTransactionDate().format(MONTH_FORMATTER),
-                        Collectors.summingInt(tx -> calculatePoints(tx.getAmountSpent()))
-                ));
+                        Collectors.summingInt(tx -> RewardPointsCalculator.calculatePoints(tx.getAmountSpent()))
+                )));
+
+        return toRewardPoints(customerId, monthlyPoints);
+    }
+
+    /**
+     * Calculates monthly and total reward points for the three months up to and including {@code asOf}.
+     * <p>
+     * Historical windows are answered from the monthly snapshots written by {@link RewardSnapshotService}
+     * plus the transactions of months that are not closed yet. Without {@code asOf} this is
+     * {@link #getMonthlyRewards(String)}.
+     * </p>
+     *
+     * @param customerId The unique identifier of the customer whose transactions are being analyzed.
+     * @param asOf       The last day of the window, or {@code null} for today.
+     * @return A {@link RewardPointsDTO} object containing total and monthly reward points.
+     * @throws RewardProcessingException if {@code asOf} is in the future or no transactions are found.
+     */
+    @Override
+    public RewardPointsDTO getMonthlyRewards(String customerId, LocalDate asOf) {
+        if (asOf == null) {
+            return getMonthlyRewards(customerId);
+        }
+        if (asOf.isAfter(LocalDate.now())) {
+            throw new RewardProcessingException("asOf cannot be in the future: " + asOf, HttpStatus.BAD_REQUEST);
+        }
+
+        Map<String, Integer> monthlyPoints;
+        try {
+            monthlyPoints = snapshotService.findMonthlyPoints(customerId, asOf);
+        } catch (DataAccessException ex) {
+            throw new RewardProcessingException("Database unavailable", HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        if (monthlyPoints.isEmpty()) {
+            throw new RewardProcessingException("No transactions found", HttpStatus.NOT_FOUND);
+        }
+        return toRewardPoints(customerId, monthlyPoints);
+    }
 
+    /**
+     * Builds the reward summary from monthly points.
+     *
+     * @param customerId    The unique identifier of the customer.
+     * @param monthlyPoints Points per {@code yyyy-MM} month.
+     * @return A {@link RewardPointsDTO} object containing total and monthly reward points.
+     */
+    private RewardPointsDTO toRewardPoints(String customerId, Map<String, Integer> monthlyPoints) {
         // Calculate total points
         int totalPoints = monthlyPoints.values().stream().mapToInt(Integer::intValue).sum();
 
@@ -89,10 +141,24 @@ public class RewardServiceImpl implements RewardService {
         return new RewardPointsDTO(customerId, totalPoints, monthlyPoints);
     }
 
+    /**
+     * Reads the customer's monthly points for the last three months from the accrual pipeline.
+     *
+     * @param customerId The unique identifier of the customer.
+     * @return The monthly points, or an empty {@link Optional} if the database must be queried instead.
+     */
+    private Optional<Map<String, Integer>> readAccruedPoints(String customerId) {
+        if (!serveReadsFromPipeline || accrualPipeline == null) {
+            return Optional.empty();
+        }
+        return accrualPipeline.getMonthlyPoints(customerId, LocalDate.now().minusMonths(3), pipelineReadTimeoutMillis);
+    }
+
     /**
      * Fetches transactions for a given customer within the last three months.
      * <p>
      * This method queries the database for transactions that occurred after the calculated date.
+     * Customers missing from the {@link CustomerDictionary} have no transactions, so the query is skipped.
      * </p>
      *
      * @param customerId The unique identifier of the customer.
@@ -101,6 +167,9 @@ public class RewardServiceImpl implements RewardService {
     private List<Transaction> fetchRecentTransactions(String customerId) {
         LocalDate threeMonthsAgo = LocalDate.now().minusMonths(3);
         try {
+            if (customerDictionary.findKey(customerId).isEmpty()) {
+                return Collections.emptyList();
+            }
             return transactionRepository.findByCustomerIdAndTransactionDateAfter(customerId, threeMonthsAgo);
         } catch (DataAccessException ex) {
             throw new RewardProcessingException("Database unavailable", HttpStatus.SERVICE_UNAVAILABLE);
@@ -0,0 +1,114 @@
+package com.reward.app.service;
+
+import com.reward.app.diagnostics.RequestDiagnostics;
+import com.reward.app.dto.RewardRuleSet;
+import com.reward.app.dto.RewardSimulationResultDTO;
+import com.reward.app.exception.RewardProcessingException;
+import com.reward.app.response.RewardSimulationResponse;
+import com.reward.app.simulation.RewardRuleEvaluator;
+import com.reward.app.simulation.TierTable;
+import com.reward.app.simulation.TransactionColumns;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import java.sql.PreparedStatement;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service for "what-if" analysis of candidate reward rule sets.
+ * <p>
+ * Replays the full transaction history, hot table and archived months alike, through the current
+ * rules and every candidate rule set in one pass, and reports each rule set's points per month and
+ * their delta against the current rules. Amounts are loaded into primitive month-ordered columns and
+ * evaluated with SIMD instructions when the JVM provides the Vector API.
+ * </p>
+ */
+@Service
+public class RewardSimulationService {
+
+    /** Caps the work of one request; each rule set adds a full pass of tier arithmetic. */
+    static final int MAX_RULE_SETS = 16;
+
+    private static final int FETCH_SIZE = 10_000;
+
+    private final RewardRuleEvaluator evaluator = RewardRuleEvaluator.best();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionArchiveService archiveService;
+
+    /**
+     * Evaluates candidate rule sets against every stored transaction.
+     *
+     * @param ruleSets the candidate rule sets
+     * @return the baseline and per-rule-set results
+     * @throws RewardProcessingException if no rule sets are given or one of them is invalid
+     */
+    public RewardSimulationResponse simulate(List<RewardRuleSet> ruleSets) {
+        if (ruleSets == null || ruleSets.isEmpty() || ruleSets.size() > MAX_RULE_SETS) {
+            throw new RewardProcessingException("Between 1 and " + MAX_RULE_SETS + " rule sets are required", HttpStatus.BAD_REQUEST);
+        }
+        List<TierTable> tables = new ArrayList<>();
+        tables.add(TierTable.compile(TierTable.CURRENT_RULES));
+        ruleSets.forEach(ruleSet -> tables.add(TierTable.compile(ruleSet)));
+
+        long loadStart = System.nanoTime();
+        TransactionColumns columns = loadColumns();
+        long evaluationStart = System.nanoTime();
+        long[][] points = RequestDiagnostics.timed("aggregate", () -> evaluator.evaluate(columns, tables));
+        long evaluationEnd = System.nanoTime();
+
+        YearMonth[] months = columns.getMonths();
+        RewardSimulationResultDTO baseline = toResult(tables.get(0).getName(), points[0], points[0], months);
+        List<RewardSimulationResultDTO> results = new ArrayList<>();
+        for (int r = 1; r < tables.size(); r++) {
+            results.add(toResult(tables.get(r).getName(), points[r], points[0], months));
+        }
+        System.out.println("Simulated " + ruleSets.size() + " rule sets over " + columns.size() + " transactions in "
+                + (evaluationEnd - evaluationStart) / 1_000_000 + " ms (vectorized=" + evaluator.isVectorized() + ")");
+
+        return new RewardSimulationResponse(columns.size(), columns.getSkipped(), evaluator.isVectorized(),
+                (evaluationStart - loadStart) / 1_000_000, (evaluationEnd - evaluationStart) / 1_000_000,
+                baseline, results);
+    }
+
+    /**
+     * Streams the hot table row by row, then every archived month, into primitive columns.
+     */
+    private TransactionColumns loadColumns() {
+        TransactionColumns.Builder builder = new TransactionColumns.Builder();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement("select amount_spent, transaction_date from transaction");
+            statement.setFetchSize(FETCH_SIZE);
+            return statement;
+        }, (RowCallbackHandler) rs -> builder.add(rs.getDouble(1), rs.getDate(2).toLocalDate()));
+        for (YearMonth month : archiveService.getArchivedMonths()) {
+            archiveService.findArchivedTransactions(null, month)
+                    .forEach(tx -> builder.add(tx.getAmountSpent(), tx.getTransactionDate()));
+        }
+        return builder.build();
+    }
+
+    private static RewardSimulationResultDTO toResult(String name, long[] points, long[] baseline, YearMonth[] months) {
+        Map<String, Long> monthlyPoints = new LinkedHashMap<>();
+        Map<String, Long> monthlyDelta = new LinkedHashMap<>();
+        long total = 0;
+        long totalDelta = 0;
+        for (int m = 0; m < months.length; m++) {
+            monthlyPoints.put(months[m].toString(), points[m]);
+            monthlyDelta.put(months[m].toString(), points[m] - baseline[m]);
+            total += points[m];
+            totalDelta += points[m] - baseline[m];
+        }
+        return new RewardSimulationResultDTO(name, total, totalDelta, monthlyPoints, monthlyDelta);
+    }
+}
@@ -0,0 +1,293 @@
+package com.reward.app.service;
+
+import com.reward.app.analytics.RewardAnalyticsService;
+import com.reward.app.model.JournalCheckpoint;
+import com.reward.app.model.MonthlyRewardSnapshot;
+import com.reward.app.model.Transaction;
+import com.reward.app.repository.JournalCheckpointRepository;
+import com.reward.app.repository.MonthlyRewardSnapshotRepository;
+import com.reward.app.repository.TransactionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Service that writes monthly reward snapshots and answers point-in-time reward queries from them.
+ * <p>
+ * A scheduled job closes every finished month once: it aggregates the month's transactions, from the
+ * table and from its archive, into one {@link MonthlyRewardSnapshot} per customer. In the same database
+ * transaction it records the month's points-per-customer distribution, the highest ingest sequence the
+ * snapshots cover in a {@code snapshot:through:yyyy-MM} checkpoint and advances the {@code snapshot:monthly}
+ * checkpoint. A query "as of" a past date reads at most four snapshot rows for the closed months of its
+ * three-month window, the customer's transactions ingested into those months after they were closed, and
+ * the transactions of months that are not closed yet, so it costs the same however far back it looks.
+ * </p>
+ * <p>
+ * Late transactions are read from the table. Archiving a closed month moves them out of it, so the
+ * month's snapshots are then rewritten from its archive within the archive's database transaction, and
+ * its {@code snapshot:through:yyyy-MM} checkpoint advances past them.
+ * </p>
+ */
+@Service
+public class RewardSnapshotService {
+
+    static final String CHECKPOINT_NAME = "snapshot:monthly";
+
+    static final String SEQUENCE_CHECKPOINT_PREFIX = "snapshot:through:";
+
+    /** Closing aggregates a whole month; it writes no transactions, so it may outlast the default timeout. */
+    private static final int CLOSE_TIMEOUT_SECONDS = 3600;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private MonthlyRewardSnapshotRepository snapshotRepository;
+
+    @Autowired
+    private JournalCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private TransactionArchiveService archiveService;
+
+    @Autowired
+    private CustomerDictionary customerDictionary;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired(required = false)
+    private RewardAnalyticsService analyticsService;
+
+    /**
+     * Closes every finished month that has not been snapshotted yet.
+     */
+    @Scheduled(cron = "${reward.snapshot.cron:0 0 2 * * *}")
+    public void closeFinishedMonths() {
+        int snapshots = closeMonthsBefore(YearMonth.now());
+        System.out.println("Snapshot job wrote " + snapshots + " monthly reward snapshots.");
+    }
+
+    /**
+     * Closes every month strictly before {@code cutoff}, in order, starting after the last closed month
+     * or, on the first run, at the oldest month that has transactions.
+     *
+     * @param cutoff the first month that stays open
+     * @return the total number of snapshots written
+     */
+    public int closeMonthsBefore(YearMonth cutoff) {
+        Optional<YearMonth> next = getClosedThrough().map(month -> month.plusMonths(1)).or(this::findOldestMonth);
+        int snapshots = 0;
+        for (YearMonth month = next.orElse(cutoff); month.isBefore(cutoff); month = month.plusMonths(1)) {
+            snapshots += closeMonth(month);
+        }
+        return snapshots;
+    }
+
+    /**
+     * Writes the snapshots of one month and marks it closed.
+     *
+     * @param month the month to close; must directly follow the last closed month, if any
+     * @return the number of snapshots written
+     * @throws IllegalStateException if the month is already closed or a previous month is still open
+     */
+    public int closeMonth(YearMonth month) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setTimeout(CLOSE_TIMEOUT_SECONDS);
+        Integer written = template.execute(status -> {
+            Optional<YearMonth> closedThrough = getClosedThrough();
+            if (closedThrough.isPresent() && !month.equals(closedThrough.get().plusMonths(1))) {
+                throw new IllegalStateException("Cannot close " + month + " after " + closedThrough.get());
+            }
+            int snapshots = writeSnapshots(month);
+            checkpointRepository.save(new JournalCheckpoint(CHECKPOINT_NAME, encode(month)));
+            return snapshots;
+        });
+        System.out.println("Closed " + month + " with " + written + " reward snapshots.");
+        return written == null ? 0 : written;
+    }
+
+    /**
+     * Rewrites the snapshots of a closed month whose transactions have just been archived, so the late
+     * transactions that left the table stay counted. Runs in the archive's database transaction.
+     *
+     * @param event the archive move
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onTransactionsArchived(TransactionsArchivedEvent event) {
+        YearMonth month = event.month();
+        if (!checkpointRepository.existsById(SEQUENCE_CHECKPOINT_PREFIX + month)) {
+            return;
+        }
+        snapshotRepository.deleteByMonth(month.toString());
+        int written = writeSnapshots(month);
+        System.out.println("Rewrote " + written + " reward snapshots of archived month " + month);
+    }
+
+    /**
+     * Writes one snapshot per customer active in a month, its points-per-customer distribution and the
+     * highest ingest sequence the snapshots cover.
+     */
+    private int writeSnapshots(YearMonth month) {
+        LocalDate closedOn = LocalDate.now();
+        long closedAtSequence = transactionRepository.findMaxIngestSequence();
+        List<MonthlyRewardSnapshot> snapshots = new ArrayList<>();
+        aggregateMonth(month, closedAtSequence).forEach((customerId, activity) ->
+                snapshots.add(new MonthlyRewardSnapshot(customerId, month.toString(), activity.pointsByDay, activity.transactions, closedOn)));
+        snapshotRepository.saveAll(snapshots);
+        if (analyticsService != null) {
+            analyticsService.recordCustomerPoints(month, snapshots.stream().map(MonthlyRewardSnapshot::getPoints).toList());
+        }
+        checkpointRepository.save(new JournalCheckpoint(SEQUENCE_CHECKPOINT_PREFIX + month, closedAtSequence));
+        return snapshots.size();
+    }
+
+    /**
+     * Returns the last month that has been closed.
+     *
+     * @return the month, or empty if no month has been closed yet
+     */
+    public Optional<YearMonth> getClosedThrough() {
+        return checkpointRepository.findById(CHECKPOINT_NAME).map(checkpoint -> decode(checkpoint.getPosition()));
+    }
+
+    /**
+     * Calculates a customer's points per month for the three months up to and including {@code asOf}.
+     * <p>
+     * Closed months are read from snapshots, including the partial months at either end of the window,
+     * plus the customer's transactions dated in them that were ingested after the month was closed.
+     * Months that are not closed yet are read from the table and, if already archived, from their archives.
+     * </p>
+     *
+     * @param customerId the unique identifier of the customer
+     * @param asOf       the last day of the window
+     * @return points per {@code yyyy-MM} month in which the customer had transactions
+     */
+    public Map<String, Integer> findMonthlyPoints(String customerId, LocalDate asOf) {
+        Map<String, Integer> monthlyPoints = new HashMap<>();
+        if (customerDictionary.findKey(customerId).isEmpty()) {
+            return monthlyPoints;
+        }
+        LocalDate windowStart = asOf.minusMonths(3); // exclusive, as for current rewards
+        YearMonth firstMonth = YearMonth.from(windowStart);
+        YearMonth lastMonth = YearMonth.from(asOf);
+        Optional<YearMonth> closedThrough = getClosedThrough();
+
+        if (closedThrough.isPresent() && !firstMonth.isAfter(closedThrough.get())) {
+            YearMonth lastClosed = lastMonth.isBefore(closedThrough.get()) ? lastMonth : closedThrough.get();
+            for (MonthlyRewardSnapshot snapshot : snapshotRepository.findByCustomerIdAndMonthBetween(
+                    customerId, firstMonth.toString(), lastClosed.toString())) {
+                YearMonth month = YearMonth.parse(snapshot.getMonth());
+                int firstDay = month.equals(firstMonth) ? windowStart.getDayOfMonth() + 1 : 1;
+                int lastDay = month.equals(lastMonth) ? asOf.getDayOfMonth() : 31;
+                snapshot.getPointsBetweenDays(firstDay, lastDay).ifPresent(points -> monthlyPoints.put(snapshot.getMonth(), points));
+            }
+            addLateTransactions(monthlyPoints, customerId, windowStart.plusDays(1),
+                    asOf.isBefore(lastClosed.atEndOfMonth()) ? asOf : lastClosed.atEndOfMonth());
+        }
+
+        YearMonth firstOpen = closedThrough.map(month -> month.plusMonths(1)).filter(firstMonth::isBefore).orElse(firstMonth);
+        if (!firstOpen.isAfter(lastMonth)) {
+            LocalDate from = firstOpen.equals(firstMonth) ? windowStart.plusDays(1) : firstOpen.atDay(1);
+            List<Transaction> transactions = new ArrayList<>(
+                    transactionRepository.findByCustomerIdAndTransactionDateBetween(customerId, from, asOf));
+            if (!archiveService.getArchivedMonths().subSet(firstOpen, lastMonth.plusMonths(1)).isEmpty()) {
+                transactions.addAll(archiveService.findArchivedTransactions(customerId, from, asOf));
+            }
+            for (Transaction transaction : transactions) {
+                monthlyPoints.merge(YearMonth.from(transaction.getTransactionDate()).toString(),
+                        RewardPointsCalculator.calculatePoints(transaction.getAmountSpent()), Integer::sum);
+            }
+        }
+        return monthlyPoints;
+    }
+
+    /**
+     * Adds the customer's transactions between {@code from} and {@code to}, all in closed months, that were
+     * ingested after their month's snapshots were written.
+     */
+    private void addLateTransactions(Map<String, Integer> monthlyPoints, String customerId, LocalDate from, LocalDate to) {
+        List<String> names = new ArrayList<>();
+        for (YearMonth month = YearMonth.from(from); !month.isAfter(YearMonth.from(to)); month = month.plusMonths(1)) {
+            names.add(SEQUENCE_CHECKPOINT_PREFIX + month);
+        }
+        Map<String, Long> closedAtSequence = new HashMap<>();
+        checkpointRepository.findAllById(names).forEach(checkpoint ->
+                closedAtSequence.put(checkpoint.getJournalName().substring(SEQUENCE_CHECKPOINT_PREFIX.length()), checkpoint.getPosition()));
+        if (closedAtSequence.isEmpty()) {
+            return;
+        }
+        long oldest = closedAtSequence.values().stream().min(Long::compare).orElseThrow();
+        for (Transaction transaction : transactionRepository.findByCustomerIdAndIngestSequenceGreaterThanAndTransactionDateBetween(
+                customerId, oldest, from, to)) {
+            String month = YearMonth.from(transaction.getTransactionDate()).toString();
+            Long sequence = closedAtSequence.get(month);
+            if (sequence != null && transaction.getIngestSequence() > sequence) {
+                monthlyPoints.merge(month, RewardPointsCalculator.calculatePoints(transaction.getAmountSpent()), Integer::sum);
+            }
+        }
+    }
+
+    /**
+     * Aggregates a month's points per customer and day from its archive and the table rows ingested up to
+     * {@code maxSequence}; later rows are read by queries as late transactions. The archive never holds a
+     * transaction that is also in the table.
+     */
+    private Map<String, CustomerActivity> aggregateMonth(YearMonth month, long maxSequence) {
+        Map<String, CustomerActivity> activityByCustomer = new HashMap<>();
+        for (Transaction transaction : archiveService.findArchivedTransactions(null, month)) {
+            activityByCustomer.computeIfAbsent(transaction.getCustomerId(), id -> new CustomerActivity()).add(transaction);
+        }
+        try (Stream<Transaction> transactions = transactionRepository.streamByTransactionDateBetweenAndIngestSequenceLessThanEqualOrderById(
+                month.atDay(1), month.atEndOfMonth(), maxSequence)) {
+            transactions.forEach(transaction ->
+                    activityByCustomer.computeIfAbsent(transaction.getCustomerId(), id -> new CustomerActivity()).add(transaction));
+        }
+        return activityByCustomer;
+    }
+
+    private Optional<YearMonth> findOldestMonth() {
+        Optional<YearMonth> oldestArchived = archiveService.getArchivedMonths().stream().findFirst();
+        Optional<YearMonth> oldestInTable = transactionRepository.findFirstByOrderByTransactionDateAsc()
+                .map(transaction -> YearMonth.from(transaction.getTransactionDate()));
+        if (oldestArchived.isPresent() && oldestInTable.isPresent()) {
+            return Optional.of(oldestArchived.get().isBefore(oldestInTable.get()) ? oldestArchived.get() : oldestInTable.get());
+        }
+        return oldestArchived.or(() -> oldestInTable);
+    }
+
+    /** Months are stored in the checkpoint position as a month count since year 0. */
+    private static long encode(YearMonth month) {
+        return month.getYear() * 12L + month.getMonthValue() - 1;
+    }
+
+    private static YearMonth decode(long position) {
+        return YearMonth.of((int) (position / 12), (int) (position % 12) + 1);
+    }
+
+    private static final class CustomerActivity {
+        private final SortedMap<Integer, Integer> pointsByDay = new TreeMap<>();
+        private int transactions;
+
+        void add(Transaction transaction) {
+            pointsByDay.merge(transaction.getTransactionDate().getDayOfMonth(),
+                    RewardPointsCalculator.calculatePoints(transaction.getAmountSpent()), Integer::sum);
+            transactions++;
+        }
+    }
+}
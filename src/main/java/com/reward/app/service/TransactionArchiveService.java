@@ -0,0 +1,442 @@
+package com.reward.app.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.reward.app.ingest.TransactionFileIngester;
+import com.reward.app.journal.TransactionJournal;
+import com.reward.app.model.JournalCheckpoint;
+import com.reward.app.model.Transaction;
+import com.reward.app.pipeline.PointsAccrualPipeline;
+import com.reward.app.repository.JournalCheckpointRepository;
+import com.reward.app.repository.TransactionRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.io.Reader;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Service that keeps the {@code transaction} table limited to the months reward calculations read.
+ * <p>
+ * Transactions are partitioned by month: the table holds the hot months covered by the
+ * retention period, and every older month lives in its own gzip-compressed NDJSON archive file
+ * ({@code transactions-yyyy-MM.ndjson.gz}). A scheduled job moves each expired month into its archive
+ * and deletes it from the table in one database transaction. Archived months remain queryable for
+ * historical recomputes. The bulk delete bypasses the entity listeners, so the affected customers are
+ * reported to the {@link PointsAccrualPipeline} balance listeners once it commits, and the moved rows'
+ * totals are published as a {@link TransactionsArchivedEvent} delivered to transactional listeners.
+ * </p>
+ * <p>
+ * Archives outlive the in-memory database, whose sources are fed again after a restart. Each archive
+ * therefore has a {@code transactions-yyyy-MM.positions} file recording, per source checkpoint (the journal
+ * and every ingested file), the position the month's archived rows were read up to. Sources skip records of
+ * an archived month at or below that position, and the initial data load skips archived months entirely,
+ * so the table and the archives never hold the same transaction.
+ * </p>
+ */
+@Service
+public class TransactionArchiveService {
+
+    /** Reward calculations read the last three months, so they must never be archived. */
+    private static final int MIN_RETENTION_MONTHS = 3;
+
+    private static final String ARCHIVE_PREFIX = "transactions-";
+    private static final String ARCHIVE_SUFFIX = ".ndjson.gz";
+    private static final String POSITIONS_SUFFIX = ".positions";
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    /** Moving a month streams all of its rows, so it is exempt from the default write transaction timeout. */
+    private static final int ARCHIVE_TIMEOUT_SECONDS = 3600;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private JournalCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired(required = false)
+    private PointsAccrualPipeline accrualPipeline;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${reward.archive.dir:./data/archive}")
+    private String archiveDir;
+
+    @Value("${reward.retention.months:12}")
+    private int retentionMonths;
+
+    /** Held for a whole archive move, including its commit and the listeners notified of it. */
+    private final Object archiveLock = new Object();
+
+    /** Archived source positions by month, loaded from the positions files on first use. */
+    private volatile Map<YearMonth, Map<String, Long>> archivedPositions;
+
+    /**
+     * Validates the retention period on startup.
+     *
+     * @throws IllegalStateException if the retention period would archive months that reward calculations read
+     */
+    @PostConstruct
+    void validateRetention() {
+        if (retentionMonths < MIN_RETENTION_MONTHS) {
+            throw new IllegalStateException("reward.retention.months must be at least " + MIN_RETENTION_MONTHS + " but was " + retentionMonths);
+        }
+    }
+
+    /**
+     * Archives every month that has fallen out of the retention period.
+     */
+    @Scheduled(cron = "${reward.retention.cron:0 30 2 * * *}")
+    public void archiveExpiredMonths() {
+        int archived = archiveMonthsBefore(YearMonth.now().minusMonths(retentionMonths));
+        System.out.println("Retention job archived " + archived + " transactions.");
+    }
+
+    /**
+     * Moves every month strictly before {@code cutoff} from the table into its archive file.
+     *
+     * @param cutoff the first month that stays in the table
+     * @return the total number of archived transactions
+     */
+    public int archiveMonthsBefore(YearMonth cutoff) {
+        int archived = 0;
+        Optional<Transaction> oldest;
+        while ((oldest = transactionRepository.findFirstByOrderByTransactionDateAsc()).isPresent()) {
+            YearMonth month = YearMonth.from(oldest.get().getTransactionDate());
+            if (!month.isBefore(cutoff)) {
+                break;
+            }
+            archived += archiveMonth(month);
+        }
+        return archived;
+    }
+
+    /**
+     * Appends one month of transactions to its archive file and deletes them from the table.
+     * <p>
+     * The source checkpoints are locked first, so no source commits rows of the month while it is moved,
+     * and their positions are recorded with the archive. The archive and its positions are fsynced before
+     * the delete commits. If the delete fails, the archive is truncated back to its previous length and the
+     * previous positions are restored, so a retry does not duplicate rows.
+     * </p>
+     *
+     * @param month the month to archive
+     * @return the number of archived transactions
+     */
+    public int archiveMonth(YearMonth month) {
+        synchronized (archiveLock) {
+            return moveToArchive(month);
+        }
+    }
+
+    /**
+     * Runs {@code reader} while no month is being archived, so the archives it reads cover exactly the moves
+     * whose {@link TransactionsArchivedEvent}s were published before it started.
+     *
+     * @param reader the code reading the archives
+     * @param <T>    the type of the result
+     * @return the result of {@code reader}
+     */
+    public <T> T whileNotArchiving(Supplier<T> reader) {
+        synchronized (archiveLock) {
+            return reader.get();
+        }
+    }
+
+    private int moveToArchive(YearMonth month) {
+        Path archive = archivePath(month);
+        long previousLength = currentLength(archive);
+        Map<String, Long> previousPositions = positionsFor(month);
+        Map<String, Integer> points = new HashMap<>();
+        Map<String, Integer> transactions = new HashMap<>();
+        try {
+            Integer archived = withArchiveTimeout(new TransactionTemplate(transactionManager)).execute(status -> {
+                Map<String, Long> positions = new HashMap<>(previousPositions);
+                for (JournalCheckpoint checkpoint : checkpointRepository.findForUpdateByJournalNameOrJournalNameStartingWith(
+                        TransactionJournal.JOURNAL_NAME, TransactionFileIngester.CHECKPOINT_PREFIX)) {
+                    positions.merge(checkpoint.getJournalName(), checkpoint.getPosition(), Math::max);
+                }
+                int moved = appendToArchive(archive, month, points, transactions);
+                int deleted = transactionRepository.deleteByTransactionDateBetween(month.atDay(1), month.atEndOfMonth());
+                if (deleted != moved) {
+                    throw new IllegalStateException("Archived " + moved + " rows for " + month + " but deleted " + deleted);
+                }
+                writePositions(month, positions);
+                eventPublisher.publishEvent(new TransactionsArchivedEvent(month, points, transactions));
+                return moved;
+            });
+            System.out.println("Archived " + archived + " transactions for " + month + " to " + archive);
+            if (accrualPipeline != null) {
+                accrualPipeline.notifyBalancesChanged(points.keySet());
+            }
+            return archived == null ? 0 : archived;
+        } catch (RuntimeException ex) {
+            truncate(archive, previousLength);
+            restorePositions(month, previousPositions);
+            throw ex;
+        }
+    }
+
+    /**
+     * Reports whether a source record has already been archived, so feeding it again would duplicate it.
+     *
+     * @param source          the source's checkpoint name
+     * @param endPosition     the source position just after the record
+     * @param transactionDate the record's transaction date
+     * @return {@code true} if the record's month was archived after the source had passed the record
+     */
+    public boolean isArchived(String source, long endPosition, LocalDate transactionDate) {
+        Long archivedThrough = positionsFor(YearMonth.from(transactionDate)).get(source);
+        return archivedThrough != null && endPosition <= archivedThrough;
+    }
+
+    /**
+     * Reads a customer's transactions for one archived month.
+     *
+     * @param customerId the unique identifier of the customer, or {@code null} for all customers
+     * @param month      the archived month
+     * @return the archived transactions, or an empty list if the month has no archive
+     */
+    public List<Transaction> findArchivedTransactions(String customerId, YearMonth month) {
+        Path archive = archivePath(month);
+        List<Transaction> transactions = new ArrayList<>();
+        if (!Files.exists(archive)) {
+            return transactions;
+        }
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(archive)), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+                Transaction transaction = OBJECT_MAPPER.readValue(line, Transaction.class);
+                if (customerId == null || customerId.equals(transaction.getCustomerId())) {
+                    transactions.add(transaction);
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to read archive " + archive, ex);
+        }
+        return transactions;
+    }
+
+    /**
+     * Reads a customer's archived transactions between two dates, inclusive.
+     * <p>
+     * Only the archive files of the months the range touches are opened.
+     * </p>
+     *
+     * @param customerId the unique identifier of the customer, or {@code null} for all customers
+     * @param from       the first date of the range
+     * @param to         the last date of the range
+     * @return the archived transactions within the range
+     */
+    public List<Transaction> findArchivedTransactions(String customerId, LocalDate from, LocalDate to) {
+        List<Transaction> transactions = new ArrayList<>();
+        for (YearMonth month = YearMonth.from(from); !month.isAfter(YearMonth.from(to)); month = month.plusMonths(1)) {
+            findArchivedTransactions(customerId, month).stream()
+                    .filter(tx -> !tx.getTransactionDate().isBefore(from) && !tx.getTransactionDate().isAfter(to))
+                    .forEach(transactions::add);
+        }
+        return transactions;
+    }
+
+    /**
+     * Lists the months that have an archive file.
+     *
+     * @return the archived months in ascending order
+     */
+    public SortedSet<YearMonth> getArchivedMonths() {
+        TreeSet<YearMonth> months = new TreeSet<>();
+        Path dir = Paths.get(archiveDir);
+        if (!Files.isDirectory(dir)) {
+            return months;
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(ARCHIVE_PREFIX) && name.endsWith(ARCHIVE_SUFFIX))
+                    .map(name -> YearMonth.parse(name.substring(ARCHIVE_PREFIX.length(), name.length() - ARCHIVE_SUFFIX.length())))
+                    .forEach(months::add);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to list archive directory " + dir, ex);
+        }
+        return months;
+    }
+
+    /**
+     * Streams one month from the table into a new gzip member appended to the archive file. Concatenated
+     * gzip members are read back transparently by {@link GZIPInputStream}.
+     *
+     * @return the number of rows moved
+     */
+    private int appendToArchive(Path archive, YearMonth month, Map<String, Integer> points, Map<String, Integer> transactionCounts) {
+        int moved = 0;
+        try {
+            Files.createDirectories(archive.toAbsolutePath().getParent());
+            try (FileOutputStream file = new FileOutputStream(archive.toFile(), true);
+                 Stream<Transaction> transactions = transactionRepository.streamByTransactionDateBetweenOrderById(
+                         month.atDay(1), month.atEndOfMonth())) {
+                GZIPOutputStream gzip = new GZIPOutputStream(file, 64 * 1024);
+                for (Transaction transaction : (Iterable<Transaction>) transactions::iterator) {
+                    moved++;
+                    points.merge(transaction.getCustomerId(), RewardPointsCalculator.calculatePoints(transaction.getAmountSpent()), Integer::sum);
+                    transactionCounts.merge(transaction.getCustomerId(), 1, Integer::sum);
+                    writeLine(gzip, transaction);
+                }
+                gzip.finish();
+                file.flush();
+                file.getFD().sync();
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to write archive " + archive, ex);
+        }
+        return moved;
+    }
+
+    private Map<String, Long> positionsFor(YearMonth month) {
+        return loadPositions().getOrDefault(month, Map.of());
+    }
+
+    private synchronized Map<YearMonth, Map<String, Long>> loadPositions() {
+        if (archivedPositions != null) {
+            return archivedPositions;
+        }
+        Map<YearMonth, Map<String, Long>> positions = new ConcurrentHashMap<>();
+        for (YearMonth month : getArchivedMonths()) {
+            Path file = positionsPath(month);
+            if (!Files.exists(file)) {
+                continue;
+            }
+            Properties properties = new Properties();
+            try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                properties.load(reader);
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Unable to read archive positions " + file, ex);
+            }
+            Map<String, Long> sources = new HashMap<>();
+            properties.stringPropertyNames().forEach(name -> sources.put(name, Long.parseLong(properties.getProperty(name))));
+            positions.put(month, Map.copyOf(sources));
+        }
+        archivedPositions = positions;
+        return positions;
+    }
+
+    /**
+     * Replaces a month's positions file atomically and fsyncs it.
+     */
+    private void writePositions(YearMonth month, Map<String, Long> positions) {
+        Path file = positionsPath(month);
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        Properties properties = new Properties();
+        positions.forEach((name, position) -> properties.setProperty(name, Long.toString(position)));
+        try {
+            try (FileOutputStream out = new FileOutputStream(temp.toFile())) {
+                properties.store(out, "Source positions archived for " + month);
+                out.getFD().sync();
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to write archive positions " + file, ex);
+        }
+        loadPositions().put(month, Map.copyOf(positions));
+    }
+
+    private void restorePositions(YearMonth month, Map<String, Long> previous) {
+        if (previous.equals(positionsFor(month))) {
+            return;
+        }
+        try {
+            if (previous.isEmpty()) {
+                Files.deleteIfExists(positionsPath(month));
+                loadPositions().remove(month);
+            } else {
+                writePositions(month, previous);
+            }
+        } catch (IOException | RuntimeException ex) {
+            System.out.println("Unable to roll back archive positions for " + month + ": " + ex.getMessage());
+        }
+    }
+
+    private static void writeLine(OutputStream out, Transaction transaction) throws IOException {
+        out.write(OBJECT_MAPPER.writeValueAsBytes(transaction));
+        out.write('\n');
+    }
+
+    private static TransactionTemplate withArchiveTimeout(TransactionTemplate template) {
+        template.setTimeout(ARCHIVE_TIMEOUT_SECONDS);
+        return template;
+    }
+
+    private Path archivePath(YearMonth month) {
+        return Paths.get(archiveDir).resolve(ARCHIVE_PREFIX + month + ARCHIVE_SUFFIX);
+    }
+
+    private Path positionsPath(YearMonth month) {
+        return Paths.get(archiveDir).resolve(ARCHIVE_PREFIX + month + POSITIONS_SUFFIX);
+    }
+
+    private static long currentLength(Path archive) {
+        try {
+            return Files.exists(archive) ? Files.size(archive) : 0L;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to stat archive " + archive, ex);
+        }
+    }
+
+    private static void truncate(Path archive, long length) {
+        try {
+            if (length == 0) {
+                Files.deleteIfExists(archive);
+                return;
+            }
+        } catch (IOException ex) {
+            System.out.println("Unable to roll back archive " + archive + ": " + ex.getMessage());
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(archive, StandardOpenOption.WRITE)) {
+            channel.truncate(length);
+            channel.force(true);
+        } catch (IOException ex) {
+            System.out.println("Unable to roll back archive " + archive + ": " + ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package com.reward.app.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.reward.app.exception.RewardProcessingException;
+import com.reward.app.model.Transaction;
+import com.reward.app.pipeline.PointsAccrualPipeline;
+import com.reward.app.response.ImportSummaryResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Service for bulk-importing transactions from CSV or NDJSON uploads.
+ * <p>
+ * The upload is read line by line straight from the request stream and written with JDBC batch
+ * inserts, one database transaction per batch, so memory use is bounded by the batch size rather
+ * than the upload size. Invalid rows are counted and sampled in the summary instead of failing the
+ * import. Because the inserts bypass JPA, each committed batch is published to the accrual
+ * pipeline explicitly.
+ * </p>
+ */
+@Service
+public class TransactionImportService {
+
+    /** Upload formats accepted by {@code POST /transactions/import}. */
+    public enum Format {
+        CSV, NDJSON
+    }
+
+    static final int MAX_SAMPLE_REJECTIONS = 20;
+
+    private static final String INSERT_SQL = "insert into transaction (customer_key, amount_spent, transaction_date) values (?, ?, ?)";
+    private static final List<String> CSV_COLUMNS = List.of("customerid", "amountspent", "transactiondate");
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CustomerDictionary customerDictionary;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired(required = false)
+    private PointsAccrualPipeline accrualPipeline;
+
+    @Value("${reward.import.batch-size:1000}")
+    private int batchSize;
+
+    /**
+     * Imports every valid row of an upload.
+     * <p>
+     * CSV uploads need a header naming the {@code customerId}, {@code amountSpent} and
+     * {@code transactionDate} columns, in any order. NDJSON uploads contain one transaction object per line.
+     * </p>
+     *
+     * @param body   the request body
+     * @param format the upload format
+     * @return the import summary
+     * @throws RewardProcessingException if the upload cannot be read or a batch cannot be written
+     */
+    public ImportSummaryResponse importTransactions(InputStream body, Format format) {
+        long start = System.nanoTime();
+        ImportState state = new ImportState();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8), 64 * 1024)) {
+            int[] columns = format == Format.CSV ? readCsvHeader(reader) : null;
+            String line;
+            long lineNumber = columns == null ? 0 : 1;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    Transaction transaction = format == Format.CSV ? parseCsv(line, columns) : parseJson(line);
+                    Optional<String> invalid = TransactionValidator.validate(transaction);
+                    if (invalid.isPresent()) {
+                        state.reject(lineNumber, invalid.get());
+                    } else {
+                        state.batch.add(transaction);
+                    }
+                } catch (IllegalArgumentException | DateTimeParseException | JsonProcessingException ex) {
+                    state.reject(lineNumber, "Unparseable row: " + ex.getMessage());
+                }
+                if (state.batch.size() == batchSize) {
+                    writeBatch(state);
+                }
+            }
+            writeBatch(state);
+        } catch (IOException ex) {
+            throw new RewardProcessingException("Upload could not be read after " + state.accepted + " accepted rows", ex, HttpStatus.BAD_REQUEST);
+        } catch (DataAccessException ex) {
+            throw new RewardProcessingException("Import failed after " + state.accepted + " accepted rows", ex, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+
+        long durationMillis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        System.out.println("Imported " + state.accepted + " transactions (" + state.rejected + " rejected) in " + durationMillis + " ms");
+        return new ImportSummaryResponse(format.name(), state.accepted, state.rejected, durationMillis,
+                state.accepted * 1000 / durationMillis, state.sampleRejections);
+    }
+
+    /**
+     * Inserts and commits the pending batch, then publishes it to the accrual pipeline.
+     */
+    private void writeBatch(ImportState state) {
+        List<Transaction> batch = state.batch;
+        if (batch.isEmpty()) {
+            return;
+        }
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            List<Object[]> rows = new ArrayList<>(batch.size());
+            for (Transaction transaction : batch) {
+                rows.add(new Object[]{customerDictionary.getOrCreateKey(transaction.getCustomerId()),
+                        transaction.getAmountSpent(), Date.valueOf(transaction.getTransactionDate())});
+            }
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        });
+        if (accrualPipeline != null) {
+            batch.forEach(accrualPipeline::publishAdded);
+        }
+        state.accepted += batch.size();
+        state.batch = new ArrayList<>(batchSize);
+    }
+
+    private static int[] readCsvHeader(BufferedReader reader) throws IOException {
+        String header = reader.readLine();
+        if (header == null) {
+            throw new RewardProcessingException("CSV upload is empty", HttpStatus.BAD_REQUEST);
+        }
+        List<String> names = splitCsv(header.replace("\uFEFF", ""));
+        int[] columns = new int[CSV_COLUMNS.size()];
+        for (int i = 0; i < CSV_COLUMNS.size(); i++) {
+            columns[i] = -1;
+            for (int j = 0; j < names.size(); j++) {
+                if (names.get(j).trim().toLowerCase(Locale.ROOT).replace("_", "").equals(CSV_COLUMNS.get(i))) {
+                    columns[i] = j;
+                }
+            }
+            if (columns[i] < 0) {
+                throw new RewardProcessingException("CSV header must name the columns customerId, amountSpent and transactionDate", HttpStatus.BAD_REQUEST);
+            }
+        }
+        return columns;
+    }
+
+    private static Transaction parseCsv(String line, int[] columns) {
+        List<String> fields = splitCsv(line);
+        for (int column : columns) {
+            if (column >= fields.size()) {
+                throw new IllegalArgumentException("expected " + (column + 1) + " columns but found " + fields.size());
+            }
+        }
+        String date = fields.get(columns[2]).trim();
+        return new Transaction(null, fields.get(columns[0]).trim(), Double.parseDouble(fields.get(columns[1]).trim()),
+                date.isEmpty() ? null : LocalDate.parse(date));
+    }
+
+    private Transaction parseJson(String line) throws JsonProcessingException {
+        Transaction transaction = objectMapper.readValue(line, Transaction.class);
+        transaction.setId(null);
+        return transaction;
+    }
+
+    /**
+     * Splits one CSV record, honouring double-quoted fields and doubled quotes inside them.
+     */
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * Counters and the pending batch of one import.
+     */
+    private final class ImportState {
+        private List<Transaction> batch = new ArrayList<>(batchSize);
+        private final List<String> sampleRejections = new ArrayList<>();
+        private long accepted;
+        private long rejected;
+
+        void reject(long lineNumber, String reason) {
+            rejected++;
+            if (sampleRejections.size() < MAX_SAMPLE_REJECTIONS) {
+                sampleRejections.add("line " + lineNumber + ": " + reason);
+            }
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.reward.app.service;
+
+import com.reward.app.model.Transaction;
+
+import java.util.Optional;
+
+/**
+ * Validation rules for incoming transactions, shared by every ingestion path.
+ */
+public final class TransactionValidator {
+
+    /** Length of the {@code customer.external_id} column. */
+    public static final int MAX_CUSTOMER_ID_LENGTH = 255;
+
+    private TransactionValidator() {
+    }
+
+    /**
+     * Checks a transaction before it is stored.
+     * <p>
+     * Negative amounts are rejected up front because {@link RewardPointsCalculator#calculatePoints(double)}
+     * refuses them, which would otherwise fail every later reward calculation for the customer.
+     * </p>
+     *
+     * @param transaction the transaction to check
+     * @return the reason the transaction is invalid, or empty if it is valid
+     */
+    public static Optional<String> validate(Transaction transaction) {
+        if (transaction == null || transaction.getCustomerId() == null || transaction.getCustomerId().trim().isEmpty()) {
+            return Optional.of("Customer ID cannot be null or empty");
+        }
+        if (transaction.getCustomerId().length() > MAX_CUSTOMER_ID_LENGTH) {
+            return Optional.of("Customer ID is too long");
+        }
+        if (!Double.isFinite(transaction.getAmountSpent())) {
+            return Optional.of("Amount spent must be a number: " + transaction.getAmountSpent());
+        }
+        if (transaction.getAmountSpent() < 0) {
+            return Optional.of("Amount spent cannot be negative: " + transaction.getAmountSpent());
+        }
+        if (transaction.getTransactionDate() == null) {
+            return Optional.of("Transaction date is required");
+        }
+        return Optional.empty();
+    }
+}
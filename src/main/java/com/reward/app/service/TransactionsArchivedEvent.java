@@ -0,0 +1,17 @@
+package com.reward.app.service;
+
+import java.time.YearMonth;
+import java.util.Map;
+
+/**
+ * Published by {@link TransactionArchiveService} when a month's transactions have moved from the table into its archive.
+ * <p>
+ * The archive's bulk delete bypasses the entity listeners, so this is the only record of which customers' rows left the table.
+ * </p>
+ *
+ * @param month        the archived month
+ * @param points       the reward points of the moved transactions, by customer ID
+ * @param transactions the number of moved transactions, by customer ID
+ */
+public record TransactionsArchivedEvent(YearMonth month, Map<String, Integer> points, Map<String, Integer> transactions) {
+}
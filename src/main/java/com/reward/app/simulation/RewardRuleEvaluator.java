@@ -0,0 +1,42 @@
+package com.reward.app.simulation;
+
+import java.util.List;
+
+/**
+ * Evaluates several tier tables over the same transaction columns in a single pass.
+ */
+public interface RewardRuleEvaluator {
+
+    /**
+     * Computes the points each rule set would have awarded per month.
+     *
+     * @param columns the month-ordered transaction amounts
+     * @param rules   the compiled rule sets
+     * @return {@code points[rule][month]}, indexed like {@code rules} and {@link TransactionColumns#getMonths()}
+     */
+    long[][] evaluate(TransactionColumns columns, List<TierTable> rules);
+
+    /**
+     * Reports whether this evaluator uses SIMD instructions.
+     *
+     * @return {@code true} for the Vector API implementation
+     */
+    boolean isVectorized();
+
+    /**
+     * Returns the Vector API evaluator when {@code jdk.incubator.vector} is available
+     * (the JVM was started with {@code --add-modules jdk.incubator.vector}), otherwise the scalar one.
+     *
+     * @return the fastest evaluator supported by this JVM
+     */
+    static RewardRuleEvaluator best() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                return new VectorRewardRuleEvaluator();
+            } catch (LinkageError ex) {
+                System.out.println("Vector API unavailable, using scalar reward simulation: " + ex.getMessage());
+            }
+        }
+        return new ScalarRewardRuleEvaluator();
+    }
+}
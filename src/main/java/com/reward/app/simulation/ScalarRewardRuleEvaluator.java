@@ -0,0 +1,28 @@
+package com.reward.app.simulation;
+
+import java.util.List;
+
+/**
+ * Portable evaluator used when the Vector API is not available.
+ */
+public final class ScalarRewardRuleEvaluator implements RewardRuleEvaluator {
+
+    @Override
+    public long[][] evaluate(TransactionColumns columns, List<TierTable> rules) {
+        long[][] points = new long[rules.size()][columns.months.length];
+        for (int month = 0; month < columns.months.length; month++) {
+            for (int i = columns.segmentStarts[month]; i < columns.segmentStarts[month + 1]; i++) {
+                int dollars = columns.dollars[i];
+                for (int r = 0; r < rules.size(); r++) {
+                    points[r][month] += rules.get(r).points(dollars);
+                }
+            }
+        }
+        return points;
+    }
+
+    @Override
+    public boolean isVectorized() {
+        return false;
+    }
+}
@@ -0,0 +1,104 @@
+package com.reward.app.simulation;
+
+import com.reward.app.dto.RewardRuleSet;
+import com.reward.app.dto.RewardTier;
+import com.reward.app.exception.RewardProcessingException;
+import org.springframework.http.HttpStatus;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A {@link RewardRuleSet} compiled into primitive arrays for the rule evaluators.
+ * <p>
+ * Points for a whole-dollar amount {@code a} are
+ * {@code sum(rate[i] * min(max(a - threshold[i], 0), width[i]))}, where {@code width[i]} is the
+ * distance to the next tier's threshold.
+ * </p>
+ */
+public final class TierTable {
+
+    /** Largest points-per-dollar rate accepted. */
+    static final int MAX_RATE = 100;
+
+    /**
+     * Largest amount whose points fit within an {@code int} under every valid table: a transaction never
+     * earns more than {@link #MAX_RATE} points per dollar. Larger amounts must be evaluated in {@code long}.
+     */
+    static final int MAX_INT_DOLLARS = Integer.MAX_VALUE / MAX_RATE;
+
+    /** The production rules of {@link com.reward.app.service.RewardPointsCalculator}. */
+    public static final RewardRuleSet CURRENT_RULES = new RewardRuleSet("current",
+            List.of(new RewardTier(50, 1), new RewardTier(100, 2)));
+
+    final String name;
+    final int[] thresholds;
+    final int[] widths;
+    final int[] rates;
+
+    private TierTable(String name, int[] thresholds, int[] widths, int[] rates) {
+        this.name = name;
+        this.thresholds = thresholds;
+        this.widths = widths;
+        this.rates = rates;
+    }
+
+    /**
+     * Validates and compiles a rule set.
+     *
+     * @param ruleSet the candidate rule set
+     * @return the compiled tier table
+     * @throws RewardProcessingException if the rule set is incomplete or inconsistent
+     */
+    public static TierTable compile(RewardRuleSet ruleSet) {
+        if (ruleSet == null || ruleSet.getName() == null || ruleSet.getName().trim().isEmpty()) {
+            throw new RewardProcessingException("Rule set name cannot be null or empty", HttpStatus.BAD_REQUEST);
+        }
+        if (ruleSet.getTiers() == null || ruleSet.getTiers().isEmpty()) {
+            throw new RewardProcessingException("Rule set " + ruleSet.getName() + " has no tiers", HttpStatus.BAD_REQUEST);
+        }
+        List<RewardTier> tiers = ruleSet.getTiers().stream()
+                .sorted(Comparator.comparingInt(RewardTier::getThreshold))
+                .toList();
+
+        int size = tiers.size();
+        int[] thresholds = new int[size];
+        int[] widths = new int[size];
+        int[] rates = new int[size];
+        for (int i = 0; i < size; i++) {
+            RewardTier tier = tiers.get(i);
+            if (tier.getThreshold() < 0 || tier.getPointsPerDollar() < 0 || tier.getPointsPerDollar() > MAX_RATE) {
+                throw new RewardProcessingException("Rule set " + ruleSet.getName()
+                        + " has an invalid tier at threshold " + tier.getThreshold(), HttpStatus.BAD_REQUEST);
+            }
+            if (i > 0 && thresholds[i - 1] == tier.getThreshold()) {
+                throw new RewardProcessingException("Rule set " + ruleSet.getName()
+                        + " has duplicate threshold " + tier.getThreshold(), HttpStatus.BAD_REQUEST);
+            }
+            thresholds[i] = tier.getThreshold();
+            rates[i] = tier.getPointsPerDollar();
+        }
+        for (int i = 0; i < size; i++) {
+            widths[i] = i + 1 < size ? thresholds[i + 1] - thresholds[i] : Integer.MAX_VALUE;
+        }
+        return new TierTable(ruleSet.getName(), thresholds, widths, rates);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Scalar reference implementation of the tier formula, exact for any amount.
+     *
+     * @param dollars the whole-dollar amount spent
+     * @return the points awarded
+     */
+    public long points(int dollars) {
+        long points = 0;
+        for (int t = 0; t < thresholds.length; t++) {
+            points += (long) rates[t] * Math.min(Math.max(dollars - thresholds[t], 0), widths[t]);
+        }
+        return points;
+    }
+}
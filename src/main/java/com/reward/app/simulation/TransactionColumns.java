@@ -0,0 +1,109 @@
+package com.reward.app.simulation;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Columnar, month-ordered view of transaction amounts for bulk rule evaluation.
+ * <p>
+ * Amounts are stored as whole dollars in one {@code int[]}, grouped by month so that every month
+ * is a contiguous segment {@code [segmentStarts[m], segmentStarts[m + 1])}.
+ * </p>
+ */
+public final class TransactionColumns {
+
+    final int[] dollars;
+    final int[] segmentStarts;
+    final YearMonth[] months;
+    final long skipped;
+
+    private TransactionColumns(int[] dollars, int[] segmentStarts, YearMonth[] months, long skipped) {
+        this.dollars = dollars;
+        this.segmentStarts = segmentStarts;
+        this.months = months;
+        this.skipped = skipped;
+    }
+
+    public int size() {
+        return dollars.length;
+    }
+
+    public long getSkipped() {
+        return skipped;
+    }
+
+    public YearMonth[] getMonths() {
+        return months.clone();
+    }
+
+    /**
+     * Accumulates transactions in any order and lays them out by month.
+     */
+    public static final class Builder {
+
+        private static final int INITIAL_CAPACITY = 1024;
+
+        private final Map<YearMonth, int[]> columnsByMonth = new TreeMap<>();
+        private final Map<YearMonth, Integer> sizesByMonth = new TreeMap<>();
+        private YearMonth lastMonth;
+        private int[] lastColumn;
+        private int lastSize;
+        private long skipped;
+
+        /**
+         * Adds one transaction. Negative amounts are counted as skipped, mirroring
+         * the rejection in {@link com.reward.app.service.RewardPointsCalculator}.
+         */
+        public Builder add(double amountSpent, LocalDate transactionDate) {
+            if (amountSpent < 0 || transactionDate == null) {
+                skipped++;
+                return this;
+            }
+            YearMonth month = YearMonth.from(transactionDate);
+            if (!month.equals(lastMonth)) {
+                switchTo(month);
+            }
+            if (lastSize == lastColumn.length) {
+                lastColumn = Arrays.copyOf(lastColumn, lastColumn.length * 2);
+            }
+            lastColumn[lastSize++] = (int) amountSpent; // Whole dollars, as in calculatePoints
+            return this;
+        }
+
+        public TransactionColumns build() {
+            flush();
+            int total = sizesByMonth.values().stream().mapToInt(Integer::intValue).sum();
+            int[] dollars = new int[total];
+            int[] segmentStarts = new int[columnsByMonth.size() + 1];
+            YearMonth[] months = new YearMonth[columnsByMonth.size()];
+            int month = 0;
+            int offset = 0;
+            for (Map.Entry<YearMonth, int[]> column : columnsByMonth.entrySet()) {
+                int size = sizesByMonth.get(column.getKey());
+                System.arraycopy(column.getValue(), 0, dollars, offset, size);
+                months[month] = column.getKey();
+                segmentStarts[month++] = offset;
+                offset += size;
+            }
+            segmentStarts[month] = offset;
+            return new TransactionColumns(dollars, segmentStarts, months, skipped);
+        }
+
+        private void switchTo(YearMonth month) {
+            flush();
+            lastMonth = month;
+            lastColumn = columnsByMonth.getOrDefault(month, new int[INITIAL_CAPACITY]);
+            lastSize = sizesByMonth.getOrDefault(month, 0);
+        }
+
+        private void flush() {
+            if (lastMonth != null) {
+                columnsByMonth.put(lastMonth, lastColumn);
+                sizesByMonth.put(lastMonth, lastSize);
+            }
+        }
+    }
+}
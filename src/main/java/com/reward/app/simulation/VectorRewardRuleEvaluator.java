@@ -0,0 +1,83 @@
+package com.reward.app.simulation;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.util.List;
+
+/**
+ * SIMD evaluator built on the JDK Vector API.
+ * <p>
+ * Each vector of amounts is loaded once and run through every rule set's tiers with lane-wise
+ * subtract, clamp, multiply and add; the remainder of each month segment is handled by the scalar formula.
+ * Lanes are {@code int}, which is exact up to {@link TierTable#MAX_INT_DOLLARS}; a vector holding a larger
+ * amount is evaluated with the scalar formula instead. Lanes are widened to {@code long} before they are
+ * summed, since the sum of a vector can exceed an {@code int} even when every lane fits.
+ * </p>
+ */
+public final class VectorRewardRuleEvaluator implements RewardRuleEvaluator {
+
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Long> LONG_SPECIES = LongVector.SPECIES_PREFERRED;
+
+    @Override
+    public long[][] evaluate(TransactionColumns columns, List<TierTable> rules) {
+        TierTable[] tables = rules.toArray(new TierTable[0]);
+        long[][] points = new long[tables.length][columns.months.length];
+        int[] dollars = columns.dollars;
+
+        for (int month = 0; month < columns.months.length; month++) {
+            int start = columns.segmentStarts[month];
+            int end = columns.segmentStarts[month + 1];
+            int upper = start + SPECIES.loopBound(end - start);
+
+            int i = start;
+            for (; i < upper; i += SPECIES.length()) {
+                IntVector amounts = IntVector.fromArray(SPECIES, dollars, i);
+                if (amounts.compare(VectorOperators.GT, TierTable.MAX_INT_DOLLARS).anyTrue()) {
+                    for (int lane = i; lane < i + SPECIES.length(); lane++) {
+                        for (int r = 0; r < tables.length; r++) {
+                            points[r][month] += tables[r].points(dollars[lane]);
+                        }
+                    }
+                    continue;
+                }
+                for (int r = 0; r < tables.length; r++) {
+                    TierTable table = tables[r];
+                    IntVector sum = IntVector.zero(SPECIES);
+                    for (int t = 0; t < table.thresholds.length; t++) {
+                        sum = sum.add(amounts.sub(table.thresholds[t])
+                                .max(0)
+                                .min(table.widths[t])
+                                .mul(table.rates[t]));
+                    }
+                    points[r][month] += sumToLong(sum);
+                }
+            }
+            for (; i < end; i++) {
+                for (int r = 0; r < tables.length; r++) {
+                    points[r][month] += tables[r].points(dollars[i]);
+                }
+            }
+        }
+        return points;
+    }
+
+    /**
+     * Sums the lanes in {@code long}; each part holds half of the lanes widened.
+     */
+    private static long sumToLong(IntVector lanes) {
+        long total = 0;
+        for (int part = 0; part < SPECIES.length() / LONG_SPECIES.length(); part++) {
+            total += ((LongVector) lanes.convertShape(VectorOperators.I2L, LONG_SPECIES, part)).reduceLanes(VectorOperators.ADD);
+        }
+        return total;
+    }
+
+    @Override
+    public boolean isVectorized() {
+        return true;
+    }
+}
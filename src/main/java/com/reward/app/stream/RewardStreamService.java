@@ -0,0 +1,260 @@
+package com.reward.app.stream;
+
+import com.reward.app.dto.RewardPointsDTO;
+import com.reward.app.exception.RewardProcessingException;
+import com.reward.app.pipeline.PointsAccrualPipeline;
+import com.reward.app.service.RewardService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Pushes a customer's {@link RewardPointsDTO} to server-sent event subscribers whenever it changes.
+ * <p>
+ * Subscriptions are async servlet requests, so open streams hold no request thread. The accrual
+ * pipeline reports every balance change; changes are conflated per customer, so at most one
+ * recompute per customer is in flight. The result is then offered to each subscriber. Each
+ * subscriber holds a single pending slot and at most one send task: a slow consumer skips
+ * intermediate states and only ever receives the latest one. Unchanged states are never sent, and
+ * idle streams get a heartbeat comment so proxies keep them open.
+ * </p>
+ * <p>
+ * Points also change without any transaction event, when they age out of the three-month window,
+ * so every open stream is refreshed on a schedule ({@code reward.stream.refresh-cron}, daily after
+ * midnight by default). A stream whose customer has no recent transactions left receives an empty state.
+ * </p>
+ */
+@Service
+public class RewardStreamService {
+
+    static final String EVENT_NAME = "rewards";
+
+    private static final Object HEARTBEAT = new Object();
+
+    private final RewardService rewardService;
+    private final PointsAccrualPipeline accrualPipeline;
+    private final int maxSubscribers;
+    private final ExecutorService refreshExecutor;
+    private final ExecutorService sendExecutor;
+
+    private final Map<String, Set<Subscription>> subscriptions = new ConcurrentHashMap<>();
+    private final Set<String> dirtyCustomers = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+
+    public RewardStreamService(RewardService rewardService, PointsAccrualPipeline accrualPipeline,
+                               @Value("${reward.stream.max-subscribers:50000}") int maxSubscribers,
+                               @Value("${reward.stream.refresh-threads:2}") int refreshThreads,
+                               @Value("${reward.stream.sender-threads:8}") int senderThreads) {
+        this.rewardService = rewardService;
+        this.accrualPipeline = accrualPipeline;
+        this.maxSubscribers = maxSubscribers;
+        this.refreshExecutor = Executors.newFixedThreadPool(refreshThreads, daemon("reward-stream-refresh"));
+        this.sendExecutor = Executors.newFixedThreadPool(senderThreads, daemon("reward-stream-send"));
+    }
+
+    @PostConstruct
+    void registerWithPipeline() {
+        accrualPipeline.addBalanceListener(this::balanceChanged);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        refreshExecutor.shutdownNow();
+        sendExecutor.shutdownNow();
+        subscriptions.values().forEach(set -> set.forEach(subscription -> subscription.emitter.complete()));
+    }
+
+    /**
+     * Registers an emitter for a customer and asynchronously sends it the customer's current rewards, if any.
+     *
+     * @param customerId the unique identifier of the customer
+     * @param emitter    the emitter of the client's event stream
+     * @throws RewardProcessingException if this node already serves the maximum number of streams
+     */
+    public void subscribe(String customerId, SseEmitter emitter) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new RewardProcessingException("Too many open reward streams", HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        Subscription subscription = new Subscription(customerId, emitter);
+        subscriptions.computeIfAbsent(customerId, id -> ConcurrentHashMap.newKeySet()).add(subscription);
+        emitter.onCompletion(() -> unsubscribe(subscription));
+        emitter.onTimeout(() -> unsubscribe(subscription));
+        emitter.onError(ex -> unsubscribe(subscription));
+
+        // Read off the request thread: with open-in-view, a query here would pin a pooled
+        // connection to the async request for as long as the stream stays open
+        refreshExecutor.execute(() -> {
+            RewardPointsDTO current = currentRewards(customerId);
+            if (current != null) {
+                subscription.offer(current);
+            }
+        });
+    }
+
+    /**
+     * Sends a heartbeat comment to every stream that has nothing else pending.
+     */
+    @Scheduled(fixedRateString = "${reward.stream.heartbeat-ms:15000}")
+    public void sendHeartbeats() {
+        subscriptions.values().forEach(set -> set.forEach(Subscription::heartbeat));
+    }
+
+    /**
+     * Refreshes every open stream, picking up points that have left the three-month window.
+     */
+    @Scheduled(cron = "${reward.stream.refresh-cron:5 0 0 * * *}")
+    public void refreshAll() {
+        subscriptions.keySet().forEach(this::balanceChanged);
+    }
+
+    /**
+     * Returns the number of open streams on this node.
+     *
+     * @return the subscriber count
+     */
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    /**
+     * Called on an accrual consumer thread; only marks the customer dirty and schedules a refresh.
+     */
+    void balanceChanged(String customerId) {
+        if (subscriptions.containsKey(customerId) && dirtyCustomers.add(customerId)) {
+            refreshExecutor.execute(() -> refresh(customerId));
+        }
+    }
+
+    private void refresh(String customerId) {
+        dirtyCustomers.remove(customerId); // Changes from here on schedule another refresh
+        Set<Subscription> subscribers = subscriptions.get(customerId);
+        if (subscribers == null || subscribers.isEmpty()) {
+            return;
+        }
+        RewardPointsDTO rewards = currentRewards(customerId);
+        if (rewards != null) {
+            subscribers.forEach(subscription -> subscription.offer(rewards));
+        }
+    }
+
+    /**
+     * Returns the customer's rewards, an empty state if there are no recent transactions, or
+     * {@code null} if they could not be read.
+     */
+    private RewardPointsDTO currentRewards(String customerId) {
+        try {
+            return rewardService.getMonthlyRewards(customerId);
+        } catch (RewardProcessingException ex) {
+            if (ex.getStatus() == HttpStatus.NOT_FOUND) {
+                return new RewardPointsDTO(customerId, 0, Map.of());
+            }
+            System.out.println("Unable to refresh reward stream for customer " + customerId + ": " + ex.getMessage());
+            return null;
+        }
+    }
+
+    private void unsubscribe(Subscription subscription) {
+        if (subscription.closed.compareAndSet(false, true)) {
+            subscriberCount.decrementAndGet();
+            subscriptions.computeIfPresent(subscription.customerId, (id, set) -> {
+                set.remove(subscription);
+                return set.isEmpty() ? null : set;
+            });
+        }
+    }
+
+    private static ThreadFactory daemon(String name) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * One open stream. {@code pending} holds the latest undelivered state (or a heartbeat) and
+     * {@code sending} guarantees a single send task, so sends to one emitter never overlap.
+     */
+    private final class Subscription {
+
+        private final String customerId;
+        private final SseEmitter emitter;
+        private final AtomicReference<Object> pending = new AtomicReference<>();
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private RewardPointsDTO lastSent; // Only accessed by the single active send task
+
+        private Subscription(String customerId, SseEmitter emitter) {
+            this.customerId = customerId;
+            this.emitter = emitter;
+        }
+
+        void offer(RewardPointsDTO rewards) {
+            pending.set(rewards); // Replaces any state the client has not received yet
+            scheduleSend();
+        }
+
+        void heartbeat() {
+            if (pending.compareAndSet(null, HEARTBEAT)) {
+                scheduleSend();
+            }
+        }
+
+        private void scheduleSend() {
+            if (!closed.get() && sending.compareAndSet(false, true)) {
+                sendExecutor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                Object next;
+                while (!closed.get() && (next = pending.getAndSet(null)) != null) {
+                    send(next);
+                }
+            } catch (IOException | IllegalStateException ex) {
+                emitter.completeWithError(ex);
+                unsubscribe(this);
+            } finally {
+                sending.set(false);
+            }
+            if (pending.get() != null) {
+                scheduleSend(); // Offered between the last poll and releasing the flag
+            }
+        }
+
+        private void send(Object next) throws IOException {
+            if (next == HEARTBEAT) {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+                return;
+            }
+            RewardPointsDTO rewards = (RewardPointsDTO) next;
+            if (lastSent == null && rewards.getMonthlyPoints().isEmpty()) {
+                return; // Nothing to show until the customer has recent transactions
+            }
+            if (!Objects.equals(rewards, lastSent)) {
+                emitter.send(SseEmitter.event().name(EVENT_NAME).data(rewards, MediaType.APPLICATION_JSON));
+                lastSent = rewards;
+            }
+        }
+    }
+}
@@ -0,0 +1,4 @@
+-- Hibernate creates the tables; sequences referenced by column defaults must exist first.
+
+-- Insert order of transactions, the change-tracking watermark of incremental recomputes
+create sequence if not exists transaction_ingest_seq;
@@ -1,7 +1,12 @@
 package com.reward.app;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.nio.file.Path;
 
 /**
  * Integration test class for the Reward Application.
@@ -12,6 +17,19 @@ import org.springframework.boot.test.context.SpringBootTest;
 @SpringBootTest
 class RewardApplicationTests {
 
+	@TempDir
+	static Path dataDir;
+
+	/**
+	 * Keeps the journal, inbox and archive files of the test run out of the working directory.
+	 */
+	@DynamicPropertySource
+	static void dataDirectories(DynamicPropertyRegistry registry) {
+		registry.add("reward.journal.dir", () -> dataDir.resolve("journal").toString());
+		registry.add("reward.ingest.watch-dir", () -> dataDir.resolve("inbox").toString());
+		registry.add("reward.archive.dir", () -> dataDir.resolve("archive").toString());
+	}
+
 	/**
 	 * Verifies that the Spring application context loads without issues.
 	 * <p>
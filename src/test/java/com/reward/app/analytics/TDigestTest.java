@@ -0,0 +1,88 @@
+package com.reward.app.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test class for {@link TDigest}.
+ * <p>
+ * Compares estimated quantiles with exact ones and verifies that merged and deserialized
+ * digests answer like a digest built over the whole input.
+ * </p>
+ */
+class TDigestTest {
+
+    private static final int VALUES = 200_000;
+
+    /**
+     * Tests that quantiles of a skewed distribution are within 1% rank error, and the tails much closer.
+     */
+    @Test
+    void testQuantile_CloseToExact() {
+        double[] values = skewedValues(new Random(42));
+        TDigest digest = new TDigest();
+        Arrays.stream(values).forEach(digest::add);
+        Arrays.sort(values);
+
+        assertEquals(VALUES, digest.size());
+        assertEquals(values[0], digest.quantile(0));
+        assertEquals(values[VALUES - 1], digest.quantile(1));
+        for (double q : new double[]{0.1, 0.5, 0.9}) {
+            assertEquals(q, rank(values, digest.quantile(q)), 0.01, "q=" + q);
+        }
+        assertEquals(0.99, rank(values, digest.quantile(0.99)), 0.001);
+        assertEquals(0.999, rank(values, digest.quantile(0.999)), 0.0005);
+    }
+
+    /**
+     * Tests that merging partial digests and restoring a serialized digest preserve the quantiles.
+     */
+    @Test
+    void testMergeAndSerialize() {
+        double[] values = skewedValues(new Random(7));
+        TDigest whole = new TDigest();
+        TDigest[] parts = {new TDigest(), new TDigest(), new TDigest(), new TDigest()};
+        for (int i = 0; i < values.length; i++) {
+            whole.add(values[i]);
+            parts[i % parts.length].add(values[i]);
+        }
+        TDigest merged = TDigest.fromBytes(parts[0].toBytes());
+        for (int i = 1; i < parts.length; i++) {
+            merged.merge(TDigest.fromBytes(parts[i].toBytes()));
+        }
+        Arrays.sort(values);
+
+        assertEquals(VALUES, merged.size());
+        assertTrue(merged.toBytes().length < 8 * 1024, "serialized size " + merged.toBytes().length);
+        for (double q : new double[]{0.01, 0.5, 0.95, 0.99}) {
+            assertEquals(rank(values, whole.quantile(q)), rank(values, merged.quantile(q)), 0.01, "q=" + q);
+        }
+    }
+
+    /**
+     * Tests that an empty digest has no quantiles.
+     */
+    @Test
+    void testQuantile_EmptyDigest() {
+        assertTrue(Double.isNaN(new TDigest().quantile(0.5)));
+        assertEquals(0, TDigest.fromBytes(new TDigest().toBytes()).size());
+    }
+
+    /** Spend-like values: mostly small amounts with a long tail. */
+    private static double[] skewedValues(Random random) {
+        double[] values = new double[VALUES];
+        for (int i = 0; i < VALUES; i++) {
+            values[i] = Math.round(Math.exp(random.nextGaussian() + 4) * 100) / 100.0;
+        }
+        return values;
+    }
+
+    private static double rank(double[] sorted, double value) {
+        int index = Arrays.binarySearch(sorted, value);
+        return (index >= 0 ? index : -index - 1) / (double) sorted.length;
+    }
+}
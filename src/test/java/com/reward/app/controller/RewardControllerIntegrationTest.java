@@ -1,21 +1,29 @@
 package com.reward.app.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reward.app.JsonDataLoader;
 import com.reward.app.model.Transaction;
 import com.reward.app.repository.TransactionRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.nio.file.Path;
 import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
 
 import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -28,7 +36,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * </p>
  */
 @ExtendWith(SpringExtension.class)
-@SpringBootTest // Starts the full application context
+@SpringBootTest(properties = "reward.warmup.enabled=false") // Starts the full application context without the JIT warm-up
 @AutoConfigureMockMvc // Configures MockMvc for testing
 class RewardControllerIntegrationTest {
 
@@ -39,6 +47,21 @@ class RewardControllerIntegrationTest {
     private TransactionRepository transactionRepository;
     @Autowired
     private ObjectMapper objectMapper;
+    @Autowired
+    private JsonDataLoader jsonDataLoader;
+
+    @TempDir
+    static Path dataDir;
+
+    /**
+     * Keeps the journal, inbox and archive files of the test run out of the working directory.
+     */
+    @DynamicPropertySource
+    static void dataDirectories(DynamicPropertyRegistry registry) {
+        registry.add("reward.journal.dir", () -> dataDir.resolve("journal").toString());
+        registry.add("reward.ingest.watch-dir", () -> dataDir.resolve("inbox").toString());
+        registry.add("reward.archive.dir", () -> dataDir.resolve("archive").toString());
+    }
 
     /**
      * Sets up test data in the H2 database before each test execution.
@@ -46,6 +69,7 @@ class RewardControllerIntegrationTest {
      */
     @BeforeEach
     void setUp() {
+        assertTrue(jsonDataLoader.awaitLoad(30, TimeUnit.SECONDS)); // Background load must not race the test data
         transactionRepository.deleteAll(); // Clean database before each test
         System.out.println("Database cleared before integration test execution.");
 
@@ -83,8 +107,8 @@ class RewardControllerIntegrationTest {
                 .andExpect(status().isOk()) // Expect HTTP 200
                 .andExpect(jsonPath("$.reward.customerId", is(CUSTOMER_ID)))
                 .andExpect(jsonPath("$.reward.totalPoints", is(115))) // (90+25)
-                .andExpect(jsonPath("$.reward.monthlyPoints['2025-01']", is(90))) // 120 spent = 90 points
-                .andExpect(jsonPath("$.reward.monthlyPoints['2024-12']", is(25))); // 75 spent = 25 points
+                .andExpect(jsonPath("$.reward.monthlyPoints['" + monthKey(1) + "']", is(90))) // 120 spent = 90 points
+                .andExpect(jsonPath("$.reward.monthlyPoints['" + monthKey(2) + "']", is(25))); // 75 spent = 25 points
     }
 
     /**
@@ -107,4 +131,7 @@ class RewardControllerIntegrationTest {
                 .andExpect(jsonPath("$.message", is("No transactions found")));
     }
 
+    private static String monthKey(int monthsAgo) {
+        return LocalDate.now().minusMonths(monthsAgo).format(DateTimeFormatter.ofPattern("yyyy-MM"));
+    }
 }
\ No newline at end of file
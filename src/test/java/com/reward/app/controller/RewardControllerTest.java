@@ -1,6 +1,9 @@
 package com.reward.app.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.reward.app.DataLoadProgress;
 import com.reward.app.JsonDataLoader;
 import com.reward.app.dto.RewardPointsDTO;
 import com.reward.app.exception.RewardProcessingException;
@@ -17,6 +20,10 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.Map;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -28,7 +35,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * and mocking the {@link RewardService}.
  * </p>
  */
-@WebMvcTest(RewardController.class)
+@WebMvcTest(value = RewardController.class, properties = "reward.diagnostics.header-enabled=true")
 class RewardControllerTest {
 
     @Autowired
@@ -55,6 +62,7 @@ class RewardControllerTest {
         expectedResponse = new RewardCalculationResponse(rewardPointsDTO);
 
         when(rewardService.getMonthlyRewards("C001")).thenReturn(expectedResponse.getReward());
+        when(jsonDataLoader.isCompleted()).thenReturn(true);
     }
 
     /**
@@ -71,6 +79,101 @@ class RewardControllerTest {
         verify(rewardService, times(1)).getMonthlyRewards("C001");
     }
 
+    /**
+     * Tests that the diagnostics header returns the request's profile in a {@code Server-Timing} header.
+     */
+    @Test
+    void testCalculateRewards_DiagnosticsHeader() throws Exception {
+        mockMvc.perform(get("/rewards/calculate/C001").header("X-Reward-Diagnostics", "true"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Server-Timing", allOf(
+                        containsString("db;dur="), containsString(" statements, "),
+                        containsString("hydrate;desc=\"0 entities\""),
+                        containsString("serialize;dur="), containsString("total;dur="))))
+                .andExpect(content().json(objectMapper.writeValueAsString(expectedResponse)));
+    }
+
+    /**
+     * Tests that requests without the diagnostics header are not profiled.
+     */
+    @Test
+    void testCalculateRewards_NoDiagnosticsWithoutHeader() throws Exception {
+        mockMvc.perform(get("/rewards/calculate/C001"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Server-Timing"));
+    }
+
+    /**
+     * Tests that JSON remains the response format when the client accepts any media type.
+     */
+    @Test
+    void testCalculateRewards_DefaultsToJson() throws Exception {
+        mockMvc.perform(get("/rewards/calculate/C001")
+                        .accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+    }
+
+    /**
+     * Tests the endpoint with {@code Accept: application/cbor}.
+     */
+    @Test
+    void testCalculateRewards_Cbor() throws Exception {
+        byte[] body = mockMvc.perform(get("/rewards/calculate/C001")
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertEquals(objectMapper.valueToTree(expectedResponse), new CBORMapper().readTree(body));
+    }
+
+    /**
+     * Tests the endpoint with {@code Accept: application/x-jackson-smile}.
+     */
+    @Test
+    void testCalculateRewards_Smile() throws Exception {
+        MediaType smile = MediaType.parseMediaType("application/x-jackson-smile");
+        byte[] body = mockMvc.perform(get("/rewards/calculate/C001")
+                        .accept(smile))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(smile))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertEquals(objectMapper.valueToTree(expectedResponse), new SmileMapper().readTree(body));
+    }
+
+    /**
+     * Tests that requests arriving during the initial data load get a fast 503 instead of partial data.
+     */
+    @Test
+    void testCalculateRewards_DataStillLoading() throws Exception {
+        when(jsonDataLoader.isCompleted()).thenReturn(false);
+        when(jsonDataLoader.getProgress()).thenReturn(new DataLoadProgress(DataLoadProgress.State.NOT_STARTED, 0, 0, -1, null, null, null));
+
+        mockMvc.perform(get("/rewards/calculate/C001"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "5"))
+                .andExpect(jsonPath("$.message").value("Reward data is still loading"));
+
+        verify(rewardService, never()).getMonthlyRewards(anyString());
+    }
+
+    /**
+     * Tests that a failed initial data load keeps rejecting requests instead of serving partial data.
+     */
+    @Test
+    void testCalculateRewards_DataLoadFailed() throws Exception {
+        when(jsonDataLoader.isCompleted()).thenReturn(false);
+        when(jsonDataLoader.getProgress()).thenReturn(new DataLoadProgress(DataLoadProgress.State.FAILED, 10, 100, 1000, null, null, "boom"));
+
+        mockMvc.perform(get("/rewards/calculate/C001"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.message").value("Reward data failed to load"));
+
+        verify(rewardService, never()).getMonthlyRewards(anyString());
+    }
+
     /**
      * Tests the endpoint with a missing customer ID.
      */
@@ -0,0 +1,54 @@
+package com.reward.app.controller;
+
+import com.reward.app.DataLoadProgress;
+import com.reward.app.JsonDataLoader;
+import com.reward.app.journal.TransactionJournal;
+import com.reward.app.service.TransactionImportService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Unit test for {@link TransactionController}.
+ * <p>
+ * Verifies that bulk imports wait for the initial data load, which would otherwise delete the imported rows.
+ * </p>
+ */
+@WebMvcTest(TransactionController.class)
+class TransactionControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private JsonDataLoader jsonDataLoader; // Prevents real execution
+
+    @MockBean
+    private TransactionJournal transactionJournal;
+
+    @MockBean
+    private TransactionImportService importService;
+
+    /**
+     * Tests that an import arriving during the initial data load gets a 503 and is not written.
+     */
+    @Test
+    void testImport_DataStillLoading() throws Exception {
+        when(jsonDataLoader.isCompleted()).thenReturn(false);
+        when(jsonDataLoader.getProgress()).thenReturn(new DataLoadProgress(DataLoadProgress.State.LOADING, 10, 100, 1000, null, null, null));
+
+        mockMvc.perform(post("/transactions/import").contentType("text/csv")
+                        .content("customerId,amountSpent,transactionDate\nC001,120.0,2025-01-05\n"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "5"));
+
+        verify(importService, never()).importTransactions(any(), any());
+    }
+}
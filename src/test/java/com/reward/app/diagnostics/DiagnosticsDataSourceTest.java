@@ -0,0 +1,77 @@
+package com.reward.app.diagnostics;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test class for {@link DiagnosticsDataSource}.
+ * <p>
+ * Runs statements against an in-memory H2 database and verifies what is recorded in the
+ * current {@link RequestDiagnostics}.
+ * </p>
+ */
+class DiagnosticsDataSourceTest {
+
+    private DiagnosticsDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:diagnostics;DB_CLOSE_DELAY=-1");
+        dataSource = new DiagnosticsDataSource(h2);
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("create table if not exists sample (id int, amount double)");
+            statement.execute("delete from sample");
+            statement.execute("insert into sample values (1, 10.0), (2, 20.0), (3, 30.0)");
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestDiagnostics.unbind();
+    }
+
+    /**
+     * Tests that statements and fetched rows are recorded while diagnostics are bound.
+     */
+    @Test
+    void testGetConnection_RecordsStatementsAndRows() throws Exception {
+        RequestDiagnostics diagnostics = new RequestDiagnostics(60_000);
+        RequestDiagnostics.bind(diagnostics);
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("select amount from sample where id >= ?")) {
+            statement.setInt(1, 2);
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    assertTrue(rows.getDouble(1) >= 20.0);
+                }
+            }
+        }
+
+        assertEquals(1, diagnostics.getStatements());
+        assertEquals(2, diagnostics.getRowsFetched());
+        assertTrue(diagnostics.toServerTiming().startsWith("db;dur="));
+        assertTrue(diagnostics.toServerTiming().contains("desc=\"1 statements, 2 rows\""));
+    }
+
+    /**
+     * Tests that connections are handed out unwrapped when diagnostics are off.
+     */
+    @Test
+    void testGetConnection_UnwrappedWhenDiagnosticsOff() throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            assertFalse(Proxy.isProxyClass(connection.getClass()));
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.reward.app.ingest;
+
+import com.reward.app.model.JournalCheckpoint;
+import com.reward.app.model.Transaction;
+import com.reward.app.repository.JournalCheckpointRepository;
+import com.reward.app.repository.TransactionRepository;
+import com.reward.app.service.TransactionArchiveService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test class for {@link TransactionFileIngester}.
+ * <p>
+ * Verifies that appended files are ingested from their stored offset, that partial lines wait
+ * for their newline and that invalid or already archived lines are skipped without blocking the rest of the file.
+ * </p>
+ */
+@ExtendWith(MockitoExtension.class)
+class TransactionFileIngesterTest {
+
+    @InjectMocks
+    private TransactionFileIngester ingester;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private JournalCheckpointRepository checkpointRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private TransactionArchiveService archiveService;
+
+    @TempDir
+    Path inbox;
+
+    private final Map<String, Long> checkpoints = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(ingester, "batchSize", 2);
+        when(checkpointRepository.findById(anyString()))
+                .thenAnswer(call -> Optional.ofNullable(checkpoints.get(call.<String>getArgument(0)))
+                        .map(position -> new JournalCheckpoint(call.getArgument(0), position)));
+        lenient().when(checkpointRepository.save(any())).thenAnswer(call -> {
+            JournalCheckpoint checkpoint = call.getArgument(0);
+            checkpoints.put(checkpoint.getJournalName(), checkpoint.getPosition());
+            return checkpoint;
+        });
+    }
+
+    /**
+     * Tests that only records appended since the last ingest are inserted and a trailing partial line waits.
+     */
+    @Test
+    void testIngest_ResumesFromOffsetAfterAppend() throws Exception {
+        Path file = inbox.resolve("upstream.ndjson");
+        append(file, line("C001", 120.0, "2025-01-05") + line("C002", 80.0, "2025-01-06") + line("C001", 60.0, "2025-01-07")
+                + "{\"customerId\":\"C003\",");
+
+        assertEquals(3, ingester.ingest(file));
+        assertEquals(0, ingester.ingest(file));
+
+        append(file, "\"amountSpent\":55.0,\"transactionDate\":\"2025-01-08\"}\n" + line("C004", 70.0, "2025-01-09"));
+
+        assertEquals(2, ingester.ingest(file));
+        assertEquals(Files.size(file), checkpoints.get(TransactionFileIngester.CHECKPOINT_PREFIX + "upstream.ndjson"));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Transaction>> batches = ArgumentCaptor.forClass(List.class);
+        verify(transactionRepository, times(3)).saveAll(batches.capture());
+        List<Transaction> last = batches.getAllValues().get(2);
+        assertEquals("C003", last.get(0).getCustomerId());
+        assertEquals(LocalDate.of(2025, 1, 9), last.get(1).getTransactionDate());
+    }
+
+    /**
+     * Tests that malformed and invalid lines are skipped while their offset still advances.
+     */
+    @Test
+    void testIngest_SkipsInvalidLines() throws Exception {
+        Path file = inbox.resolve("bad.ndjson");
+        append(file, "not json\n" + line("C001", -5.0, "2025-01-05") + "\n" + line("C002", 90.0, "2025-01-06"));
+
+        assertEquals(1, ingester.ingest(file));
+        assertEquals(0, ingester.ingest(file));
+        assertEquals(Files.size(file), checkpoints.get(TransactionFileIngester.CHECKPOINT_PREFIX + "bad.ndjson"));
+    }
+
+    /**
+     * Tests that lines of a month archived after they were ingested are not inserted again, e.g. after a restart.
+     */
+    @Test
+    void testIngest_SkipsArchivedLines() throws Exception {
+        Path file = inbox.resolve("upstream.ndjson");
+        String archived = line("C001", 120.0, "2024-05-05");
+        append(file, archived + line("C002", 80.0, "2024-05-06"));
+        String checkpointName = TransactionFileIngester.CHECKPOINT_PREFIX + "upstream.ndjson";
+        long archivedThrough = archived.getBytes(StandardCharsets.UTF_8).length;
+        when(archiveService.isArchived(eq(checkpointName), anyLong(), eq(LocalDate.of(2024, 5, 5))))
+                .thenAnswer(call -> call.<Long>getArgument(1) <= archivedThrough);
+
+        assertEquals(1, ingester.ingest(file));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Transaction>> batch = ArgumentCaptor.forClass(List.class);
+        verify(transactionRepository).saveAll(batch.capture());
+        assertEquals(List.of("C002"), batch.getValue().stream().map(Transaction::getCustomerId).toList());
+        assertEquals(Files.size(file), checkpoints.get(checkpointName));
+    }
+
+    private static String line(String customerId, double amount, String date) {
+        return "{\"customerId\":\"" + customerId + "\",\"amountSpent\":" + amount + ",\"transactionDate\":\"" + date + "\"}\n";
+    }
+
+    private static void append(Path file, String content) throws Exception {
+        Files.writeString(file, content, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+}
@@ -0,0 +1,106 @@
+package com.reward.app.journal;
+
+import com.reward.app.model.Transaction;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test class for {@link TransactionJournal}.
+ * <p>
+ * Verifies group-committed appends, positional reads and recovery from a torn tail.
+ * </p>
+ */
+class TransactionJournalTest {
+
+    private static final String CUSTOMER_ID = "C001";
+
+    @TempDir
+    Path journalDir;
+
+    private TransactionJournal journal;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        journal = new TransactionJournal(journalDir.toString(), 5, 64);
+        journal.open();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        journal.close();
+    }
+
+    /**
+     * Tests that concurrently appended records are all acknowledged and read back in order.
+     */
+    @Test
+    void testAppendAndRead() throws Exception {
+        List<CompletableFuture<Long>> acks = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            acks.add(journal.append(new Transaction(null, CUSTOMER_ID, i, LocalDate.of(2025, 1, 1).plusDays(i))));
+        }
+        for (CompletableFuture<Long> ack : acks) {
+            ack.get(5, TimeUnit.SECONDS);
+        }
+
+        TransactionJournal.JournalBatch batch = journal.read(0, 1000);
+
+        assertEquals(100, batch.transactions().size());
+        assertEquals(journal.getCommittedPosition(), batch.nextPosition());
+        assertEquals(42.0, batch.transactions().get(42).getAmountSpent());
+        assertEquals(LocalDate.of(2025, 1, 1).plusDays(42), batch.transactions().get(42).getTransactionDate());
+        assertEquals(CUSTOMER_ID, batch.transactions().get(42).getCustomerId());
+    }
+
+    /**
+     * Tests that reads resume from the position returned by a previous read.
+     */
+    @Test
+    void testReadResumesFromPosition() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            journal.append(new Transaction(null, CUSTOMER_ID, i, LocalDate.of(2025, 1, 1))).get(5, TimeUnit.SECONDS);
+        }
+
+        TransactionJournal.JournalBatch first = journal.read(0, 4);
+        TransactionJournal.JournalBatch rest = journal.read(first.nextPosition(), 100);
+
+        assertEquals(4, first.transactions().size());
+        assertEquals(6, rest.transactions().size());
+        assertEquals(4.0, rest.transactions().get(0).getAmountSpent());
+        assertTrue(journal.read(rest.nextPosition(), 100).transactions().isEmpty());
+    }
+
+    /**
+     * Tests that a partially written record left by a crash is discarded when the journal is reopened.
+     */
+    @Test
+    void testTornTailIsTruncatedOnOpen() throws Exception {
+        long end = journal.append(new Transaction(null, CUSTOMER_ID, 120.0, LocalDate.of(2025, 1, 5))).get(5, TimeUnit.SECONDS);
+        journal.close();
+
+        Path file = journalDir.resolve(TransactionJournal.JOURNAL_NAME + ".journal");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(java.nio.ByteBuffer.wrap(new byte[]{0, 0, 0, 40, 1, 2, 3}));
+        }
+
+        journal = new TransactionJournal(journalDir.toString(), 5, 64);
+        journal.open();
+
+        assertEquals(end, journal.getCommittedPosition());
+        assertEquals(1, journal.read(0, 100).transactions().size());
+    }
+}
@@ -0,0 +1,118 @@
+package com.reward.app.pipeline;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test class for {@link PointsAccrualPipeline}.
+ * <p>
+ * Publishes transactions through a small ring buffer (so it wraps many times) and verifies
+ * the accrued balances and statistics.
+ * </p>
+ */
+class PointsAccrualPipelineTest {
+
+    private static final LocalDate WINDOW_START = LocalDate.of(2025, 1, 15);
+    private static final long TIMEOUT_MILLIS = 5_000;
+
+    private PointsAccrualPipeline pipeline;
+
+    @BeforeEach
+    void setUp() {
+        pipeline = new PointsAccrualPipeline(16, 3);
+        pipeline.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        pipeline.stop();
+    }
+
+    /**
+     * Tests that balances match the reward rules across many customers and ring buffer wraps.
+     */
+    @Test
+    void testGetMonthlyPoints_AccruesAcrossCustomers() {
+        for (int i = 0; i < 1_000; i++) {
+            pipeline.publish("C" + (i % 10), 120.0, LocalDate.of(2025, 2, 1), 1); // 90 points each
+        }
+        pipeline.publish("C0", 75.0, LocalDate.of(2025, 3, 3), 1); // 25 points
+
+        Map<String, Integer> points = pipeline.getMonthlyPoints("C0", WINDOW_START, TIMEOUT_MILLIS).orElseThrow();
+
+        assertEquals(Map.of("2025-02", 100 * 90, "2025-03", 25), points);
+        assertEquals(Map.of("2025-02", 100 * 90), pipeline.getMonthlyPoints("C7", WINDOW_START, TIMEOUT_MILLIS).orElseThrow());
+    }
+
+    /**
+     * Tests that days on or before the window start are excluded and removals are applied.
+     */
+    @Test
+    void testGetMonthlyPoints_WindowAndRemoval() {
+        pipeline.publish("C1", 120.0, WINDOW_START, 1);
+        pipeline.publish("C1", 30.0, LocalDate.of(2025, 2, 10), 1);
+        pipeline.publish("C1", 120.0, LocalDate.of(2025, 2, 11), 1);
+        pipeline.publish("C1", 120.0, LocalDate.of(2025, 2, 11), -1);
+
+        Map<String, Integer> points = pipeline.getMonthlyPoints("C1", WINDOW_START, TIMEOUT_MILLIS).orElseThrow();
+
+        assertEquals(Map.of("2025-02", 0), points); // Zero-point transaction still counts as activity
+    }
+
+    /**
+     * Tests that unknown customers have an empty balance and negative amounts invalidate a balance.
+     */
+    @Test
+    void testGetMonthlyPoints_UnknownAndInvalidCustomers() {
+        pipeline.publish("BAD", -10.0, LocalDate.of(2025, 2, 1), 1);
+
+        assertEquals(Optional.of(Map.of()), pipeline.getMonthlyPoints("NOBODY", WINDOW_START, TIMEOUT_MILLIS));
+        assertTrue(pipeline.getMonthlyPoints("BAD", WINDOW_START, TIMEOUT_MILLIS).isEmpty());
+    }
+
+    /**
+     * Tests that days before the latest read window are pruned and earlier windows fall back to the database.
+     */
+    @Test
+    void testGetMonthlyPoints_PrunesDaysBeforeLatestWindow() {
+        pipeline.publish("C1", 120.0, LocalDate.of(2025, 1, 20), 1);
+        pipeline.publish("C1", 75.0, LocalDate.of(2025, 2, 20), 1);
+
+        LocalDate laterWindowStart = LocalDate.of(2025, 2, 1);
+        assertEquals(Map.of("2025-02", 25), pipeline.getMonthlyPoints("C1", laterWindowStart, TIMEOUT_MILLIS).orElseThrow());
+        assertTrue(pipeline.getMonthlyPoints("C1", WINDOW_START, TIMEOUT_MILLIS).isEmpty());
+
+        pipeline.publish("C1", 120.0, LocalDate.of(2025, 1, 25), 1); // Already out of every window
+        pipeline.publish("C2", 120.0, LocalDate.of(2025, 1, 25), 1);
+        assertEquals(Map.of("2025-02", 25), pipeline.getMonthlyPoints("C1", laterWindowStart, TIMEOUT_MILLIS).orElseThrow());
+        assertEquals(Optional.of(Map.of()), pipeline.getMonthlyPoints("C2", laterWindowStart, TIMEOUT_MILLIS));
+    }
+
+    /**
+     * Tests that statistics report no lag once every consumer has caught up.
+     */
+    @Test
+    void testGetStats() {
+        for (int i = 0; i < 100; i++) {
+            pipeline.publish("C" + i, 60.0, LocalDate.of(2025, 2, 1), 1);
+        }
+        for (int i = 0; i < 100; i++) {
+            pipeline.getMonthlyPoints("C" + i, WINDOW_START, TIMEOUT_MILLIS).orElseThrow();
+        }
+
+        AccrualPipelineStats stats = pipeline.getStats();
+
+        assertEquals(16, stats.capacity());
+        assertEquals(100, stats.eventsPublished());
+        assertEquals(0, stats.queueDepth());
+        assertEquals(3, stats.consumerLag().size());
+        assertEquals(100, stats.eventsApplied());
+    }
+}
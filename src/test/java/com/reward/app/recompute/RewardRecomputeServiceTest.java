@@ -0,0 +1,190 @@
+package com.reward.app.recompute;
+
+import com.reward.app.JsonDataLoader;
+import com.reward.app.analytics.RewardAnalyticsService;
+import com.reward.app.model.Transaction;
+import com.reward.app.pipeline.PointsAccrualPipeline;
+import com.reward.app.service.CustomerDictionary;
+import com.reward.app.service.RewardSnapshotService;
+import com.reward.app.service.TransactionArchiveService;
+import com.reward.app.service.TransactionsArchivedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test class for {@link RewardRecomputeService}.
+ * <p>
+ * Runs recomputes against the application's schema, with the ingest sequence and read model created
+ * by {@code schema.sql} and Hibernate, and verifies that only the customer months touched above the
+ * watermark are recomputed, only once the horizon has passed them, and that archived rows are counted
+ * without reading archives on every run.
+ * </p>
+ */
+@DataJpaTest
+@ImportAutoConfiguration(TransactionManagerCustomizationAutoConfiguration.class) // Applies spring.transaction.default-timeout
+@Import({RewardRecomputeService.class, CustomerDictionary.class})
+class RewardRecomputeServiceTest {
+
+    @Autowired
+    private RewardRecomputeService recomputeService;
+
+    @Autowired
+    private CustomerDictionary customerDictionary;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private TransactionArchiveService archiveService;
+
+    @MockBean
+    private RewardSnapshotService snapshotService;
+
+    @MockBean
+    private RewardAnalyticsService analyticsService;
+
+    @MockBean
+    private JsonDataLoader jsonDataLoader;
+
+    @MockBean
+    private PointsAccrualPipeline accrualPipeline;
+
+    @BeforeEach
+    void setUp() {
+        when(archiveService.whileNotArchiving(any())).thenAnswer(call -> call.<Supplier<?>>getArgument(0).get());
+    }
+
+    /**
+     * Tests that rows are processed one run after they are first seen and update only their own customer months.
+     */
+    @Test
+    void testRecompute_OnlyTouchedPairsAboveWatermark() {
+        int first = customerDictionary.getOrCreateKey("C001");
+        int second = customerDictionary.getOrCreateKey("C002");
+        insert(first, 120.0, LocalDate.of(2025, 1, 5));
+        insert(first, 75.0, LocalDate.of(2025, 1, 20));
+        insert(second, 60.0, LocalDate.of(2025, 2, 1));
+        long base = sequenceBefore(3);
+
+        assertEquals(new RecomputeResult(0, 0, 0), recomputeService.recompute()); // Only records the horizon
+        assertEquals(new RecomputeResult(0, base + 3, 2), recomputeService.recompute());
+        assertEquals(115, points(first, "2025-01"));
+        assertEquals(10, points(second, "2025-02"));
+
+        insert(first, 200.0, LocalDate.of(2025, 1, 28));
+        recomputeService.recompute();
+        RecomputeResult result = recomputeService.recompute();
+
+        assertEquals(new RecomputeResult(base + 3, base + 4, 1), result);
+        assertEquals(115 + 250, points(first, "2025-01"));
+        assertEquals(3, jdbcTemplate.queryForObject(
+                "select transaction_count from customer_monthly_points where customer_key = ?", Integer.class, first));
+        assertEquals(0, recomputeService.getStatus().pendingRows());
+    }
+
+    /**
+     * Tests that a rebuild resets the watermark and recomputes every month from scratch.
+     */
+    @Test
+    void testRebuild_RecomputesEverything() {
+        int customer = customerDictionary.getOrCreateKey("C001");
+        insert(customer, 120.0, LocalDate.of(2025, 1, 5));
+        recomputeService.recompute();
+        recomputeService.recompute();
+        jdbcTemplate.update("update customer_monthly_points set points = 0");
+
+        recomputeService.rebuild();
+
+        assertEquals(1, recomputeService.getStatus().pendingRows());
+        assertEquals(1, recomputeService.recompute().pairs());
+        assertEquals(90, points(customer, "2025-01"));
+    }
+
+    /**
+     * Tests that archives are read once on startup, that archived moves keep their pairs' points, and that
+     * closed months refresh their points-per-customer analytics.
+     */
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.BEFORE_METHOD) // Archives are seeded once per application start
+    void testRecompute_CountsArchivedRowsWithoutRereadingArchives() {
+        YearMonth may = YearMonth.of(2024, 5);
+        YearMonth june = YearMonth.of(2024, 6);
+        when(archiveService.getArchivedMonths()).thenReturn(new TreeSet<>(List.of(may)));
+        when(archiveService.findArchivedTransactions(null, may))
+                .thenReturn(List.of(new Transaction(1L, "A001", 120.0, LocalDate.of(2024, 5, 3))));
+        when(snapshotService.getClosedThrough()).thenReturn(Optional.of(june));
+        int customer = customerDictionary.getOrCreateKey("C001");
+        insert(customer, 70.0, LocalDate.of(2024, 6, 10));
+
+        recomputeService.recompute();
+        recomputeService.recompute();
+        assertEquals(90, points(customerDictionary.getOrCreateKey("A001"), "2024-05"));
+        assertEquals(20, points(customer, "2024-06"));
+
+        jdbcTemplate.update("delete from transaction where customer_key = ?", customer); // Moved into the June archive
+        recomputeService.onTransactionsArchived(new TransactionsArchivedEvent(june, Map.of("C001", 20), Map.of("C001", 1)));
+        insert(customer, 60.0, LocalDate.of(2024, 6, 30)); // Late row for the archived month
+        recomputeService.recompute();
+        recomputeService.recompute();
+
+        assertEquals(30, points(customer, "2024-06"));
+        verify(archiveService, times(1)).findArchivedTransactions(any(), any(YearMonth.class));
+        verify(analyticsService, atLeastOnce()).recordCustomerPoints(june, List.of(30));
+    }
+
+    /**
+     * Tests that a move committing after a run starts but before its seed reads the archives is counted once.
+     */
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.BEFORE_METHOD) // Archives are seeded once per application start
+    void testRecompute_SeedAbsorbsMovesQueuedWhileSeeding() {
+        YearMonth may = YearMonth.of(2024, 5);
+        when(archiveService.getArchivedMonths()).thenAnswer(call -> {
+            recomputeService.onTransactionsArchived(new TransactionsArchivedEvent(may, Map.of("A001", 90), Map.of("A001", 1)));
+            return new TreeSet<>(List.of(may));
+        });
+        when(archiveService.findArchivedTransactions(null, may))
+                .thenReturn(List.of(new Transaction(1L, "A001", 120.0, LocalDate.of(2024, 5, 3))));
+
+        recomputeService.recompute();
+        recomputeService.recompute();
+
+        assertEquals(90, points(customerDictionary.getOrCreateKey("A001"), "2024-05"));
+    }
+
+    private void insert(int customerKey, double amountSpent, LocalDate transactionDate) {
+        jdbcTemplate.update("insert into transaction (customer_key, amount_spent, transaction_date) values (?, ?, ?)",
+                customerKey, amountSpent, Date.valueOf(transactionDate));
+    }
+
+    /** The sequence continues across tests sharing the database, so results are relative to the first row. */
+    private long sequenceBefore(int rows) {
+        return jdbcTemplate.queryForObject("select max(ingest_sequence) from transaction", Long.class) - rows;
+    }
+
+    private int points(int customerKey, String month) {
+        return jdbcTemplate.queryForObject("select points from customer_monthly_points where customer_key = ? and reward_month = ?",
+                Integer.class, customerKey, month);
+    }
+}
@@ -0,0 +1,68 @@
+package com.reward.app.service;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test class for {@link CustomerDictionary}.
+ * <p>
+ * Runs against an in-memory H2 database and verifies that keys created by a transaction only
+ * become visible to other threads once it commits.
+ * </p>
+ */
+class CustomerDictionaryTest {
+
+    private CustomerDictionary customerDictionary;
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:dictionary;DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("drop all objects");
+        jdbcTemplate.execute("create table customer (id int auto_increment primary key, external_id varchar(255) not null unique)");
+        customerDictionary = new CustomerDictionary();
+        ReflectionTestUtils.setField(customerDictionary, "jdbcTemplate", jdbcTemplate);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    /**
+     * Tests that a new key is visible inside its transaction but not to other threads until commit.
+     */
+    @Test
+    void testGetOrCreateKey_VisibleToOtherThreadsOnlyAfterCommit() {
+        int key = transactionTemplate.execute(status -> {
+            int created = customerDictionary.getOrCreateKey("C001");
+            assertEquals(Optional.of(created), customerDictionary.findKey("C001"));
+            assertEquals("C001", customerDictionary.getExternalId(created));
+            assertEquals(Optional.empty(), CompletableFuture.supplyAsync(() -> customerDictionary.findKey("C001")).join());
+            return created;
+        });
+
+        assertEquals(Optional.of(key), CompletableFuture.supplyAsync(() -> customerDictionary.findKey("C001")).join());
+    }
+
+    /**
+     * Tests that a key created by a rolled-back transaction is never cached.
+     */
+    @Test
+    void testGetOrCreateKey_RolledBackKeyIsNotCached() {
+        transactionTemplate.executeWithoutResult(status -> {
+            customerDictionary.getOrCreateKey("C001");
+            status.setRollbackOnly();
+        });
+
+        assertEquals(Optional.empty(), customerDictionary.findKey("C001"));
+    }
+}
@@ -20,6 +20,7 @@ import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -42,6 +43,9 @@ public class RewardServiceImplTest {
     @Mock
     private TransactionRepository transactionRepository;
 
+    @Mock
+    private CustomerDictionary customerDictionary;
+
     @MockBean
     private JsonDataLoader jsonDataLoader; // Prevents real execution
 
@@ -52,6 +56,7 @@ public class RewardServiceImplTest {
     @BeforeEach
     void setUp() {
         Mockito.reset(transactionRepository);
+        lenient().when(customerDictionary.findKey(CUSTOMER_ID)).thenReturn(Optional.of(1));
     }
 
     /**
@@ -98,6 +103,21 @@ public class RewardServiceImplTest {
         assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
     }
 
+    /**
+     * Tests behavior when the customer is not in the customer dictionary.
+     * Ensures that the transaction table is not queried at all.
+     */
+    @Test
+    void testGetMonthlyRewards_UnknownCustomer() {
+        when(customerDictionary.findKey("UNKNOWN")).thenReturn(Optional.empty());
+
+        RewardProcessingException exception = assertThrows(RewardProcessingException.class, () ->
+                rewardService.getMonthlyRewards("UNKNOWN"));
+
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
+        verify(transactionRepository, never()).findByCustomerIdAndTransactionDateAfter(anyString(), any());
+    }
+
     /**
      * Tests behavior when a database error occurs while fetching transactions.
      * Ensures that a service-unavailable exception is thrown.
@@ -0,0 +1,197 @@
+package com.reward.app.service;
+
+import com.reward.app.model.JournalCheckpoint;
+import com.reward.app.model.MonthlyRewardSnapshot;
+import com.reward.app.model.Transaction;
+import com.reward.app.repository.JournalCheckpointRepository;
+import com.reward.app.repository.MonthlyRewardSnapshotRepository;
+import com.reward.app.repository.TransactionRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test class for {@link RewardSnapshotService}.
+ * <p>
+ * Verifies that closing a month writes one snapshot per customer with the checkpoint, and that
+ * point-in-time queries combine snapshots of closed months with late transactions and transactions of open months,
+ * and that archiving a closed month folds its late transactions into its snapshots.
+ * </p>
+ */
+@ExtendWith(MockitoExtension.class)
+class RewardSnapshotServiceTest {
+
+    private static final String CUSTOMER_ID = "C001";
+
+    @InjectMocks
+    private RewardSnapshotService snapshotService;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private MonthlyRewardSnapshotRepository snapshotRepository;
+
+    @Mock
+    private JournalCheckpointRepository checkpointRepository;
+
+    @Mock
+    private TransactionArchiveService archiveService;
+
+    @Mock
+    private CustomerDictionary customerDictionary;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Tests that a closed month gets one snapshot per customer with daily points and advances the checkpoint.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void testCloseMonth_WritesSnapshotsAndCheckpoint() {
+        YearMonth january = YearMonth.of(2025, 1);
+        when(checkpointRepository.findById(RewardSnapshotService.CHECKPOINT_NAME)).thenReturn(Optional.empty());
+        when(archiveService.findArchivedTransactions(null, january)).thenReturn(List.of());
+        when(transactionRepository.findMaxIngestSequence()).thenReturn(40L);
+        when(transactionRepository.streamByTransactionDateBetweenAndIngestSequenceLessThanEqualOrderById(
+                january.atDay(1), january.atEndOfMonth(), 40L))
+                .thenReturn(Stream.of(
+                        new Transaction(1L, CUSTOMER_ID, 120.0, LocalDate.of(2025, 1, 3)),
+                        new Transaction(2L, CUSTOMER_ID, 75.0, LocalDate.of(2025, 1, 3)),
+                        new Transaction(3L, CUSTOMER_ID, 10.0, LocalDate.of(2025, 1, 20)),
+                        new Transaction(4L, "C002", 60.0, LocalDate.of(2025, 1, 9))));
+
+        int written = snapshotService.closeMonth(january);
+
+        assertEquals(2, written);
+        ArgumentCaptor<List<MonthlyRewardSnapshot>> saved = ArgumentCaptor.forClass(List.class);
+        verify(snapshotRepository).saveAll(saved.capture());
+        MonthlyRewardSnapshot snapshot = saved.getValue().stream()
+                .filter(s -> s.getCustomerId().equals(CUSTOMER_ID)).findFirst().orElseThrow();
+        assertEquals("2025-01", snapshot.getMonth());
+        assertEquals(115, snapshot.getPoints());
+        assertEquals(3, snapshot.getTransactionCount());
+        assertEquals(Map.of(3, 115, 20, 0), snapshot.getPointsByDay());
+        ArgumentCaptor<JournalCheckpoint> checkpoint = ArgumentCaptor.forClass(JournalCheckpoint.class);
+        verify(checkpointRepository, times(2)).save(checkpoint.capture());
+        assertEquals("snapshot:through:2025-01", checkpoint.getAllValues().get(0).getJournalName());
+        assertEquals(40L, checkpoint.getAllValues().get(0).getPosition());
+        when(checkpointRepository.findById(RewardSnapshotService.CHECKPOINT_NAME)).thenReturn(Optional.of(checkpoint.getValue()));
+        assertEquals(Optional.of(january), snapshotService.getClosedThrough());
+    }
+
+    /**
+     * Tests that a historical window reads closed months from snapshots, trimmed to the window, and open months from the table.
+     */
+    @Test
+    void testFindMonthlyPoints_CombinesSnapshotsAndOpenMonths() {
+        when(customerDictionary.findKey(CUSTOMER_ID)).thenReturn(Optional.of(1));
+        when(checkpointRepository.findById(RewardSnapshotService.CHECKPOINT_NAME))
+                .thenReturn(Optional.of(new JournalCheckpoint(RewardSnapshotService.CHECKPOINT_NAME, 2025 * 12L)));
+        when(snapshotRepository.findByCustomerIdAndMonthBetween(CUSTOMER_ID, "2024-11", "2025-01")).thenReturn(List.of(
+                snapshot("2024-11", Map.of(5, 30, 20, 40)),
+                snapshot("2024-12", Map.of(1, 50, 31, 40))));
+        when(archiveService.getArchivedMonths()).thenReturn(new TreeSet<>());
+        when(transactionRepository.findByCustomerIdAndTransactionDateBetween(
+                CUSTOMER_ID, LocalDate.of(2025, 2, 1), LocalDate.of(2025, 2, 10)))
+                .thenReturn(List.of(new Transaction(9L, CUSTOMER_ID, 120.0, LocalDate.of(2025, 2, 8))));
+
+        Map<String, Integer> points = snapshotService.findMonthlyPoints(CUSTOMER_ID, LocalDate.of(2025, 2, 10));
+
+        assertEquals(Map.of("2024-11", 40, "2024-12", 90, "2025-02", 90), points);
+        verify(transactionRepository, never()).findByCustomerIdAndTransactionDateAfter(any(), any());
+    }
+
+    /**
+     * Tests that a transaction ingested into a closed month after its snapshots were written is counted as of later dates.
+     */
+    @Test
+    void testFindMonthlyPoints_IncludesLateTransactionsOfClosedMonths() {
+        when(customerDictionary.findKey(CUSTOMER_ID)).thenReturn(Optional.of(1));
+        when(checkpointRepository.findById(RewardSnapshotService.CHECKPOINT_NAME))
+                .thenReturn(Optional.of(new JournalCheckpoint(RewardSnapshotService.CHECKPOINT_NAME, 2025 * 12L)));
+        when(snapshotRepository.findByCustomerIdAndMonthBetween(CUSTOMER_ID, "2024-11", "2025-01")).thenReturn(List.of(
+                snapshot("2024-12", Map.of(1, 50))));
+        when(checkpointRepository.findAllById(List.of("snapshot:through:2024-11", "snapshot:through:2024-12", "snapshot:through:2025-01")))
+                .thenReturn(List.of(new JournalCheckpoint("snapshot:through:2024-11", 10L),
+                        new JournalCheckpoint("snapshot:through:2024-12", 20L),
+                        new JournalCheckpoint("snapshot:through:2025-01", 30L)));
+        when(transactionRepository.findByCustomerIdAndIngestSequenceGreaterThanAndTransactionDateBetween(
+                CUSTOMER_ID, 10L, LocalDate.of(2024, 11, 11), LocalDate.of(2025, 1, 31)))
+                .thenReturn(List.of(
+                        ingested(15L, 120.0, LocalDate.of(2024, 12, 24)), // in the December snapshot
+                        ingested(25L, 90.0, LocalDate.of(2024, 12, 28)),
+                        ingested(31L, 70.0, LocalDate.of(2025, 1, 30))));
+        when(archiveService.getArchivedMonths()).thenReturn(new TreeSet<>());
+
+        Map<String, Integer> points = snapshotService.findMonthlyPoints(CUSTOMER_ID, LocalDate.of(2025, 2, 10));
+
+        assertEquals(Map.of("2024-12", 90, "2025-01", 20), points);
+    }
+
+    /**
+     * Tests that archiving a closed month after a late transaction rewrites its snapshots to include it.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void testOnTransactionsArchived_FoldsLateTransactionsIntoSnapshots() {
+        YearMonth december = YearMonth.of(2024, 12);
+        when(checkpointRepository.existsById("snapshot:through:2024-12")).thenReturn(true);
+        when(transactionRepository.findMaxIngestSequence()).thenReturn(60L);
+        when(archiveService.findArchivedTransactions(null, december)).thenReturn(List.of(
+                new Transaction(1L, CUSTOMER_ID, 100.0, LocalDate.of(2024, 12, 1)),
+                new Transaction(2L, CUSTOMER_ID, 90.0, LocalDate.of(2024, 12, 28)))); // Ingested after the close
+        when(transactionRepository.streamByTransactionDateBetweenAndIngestSequenceLessThanEqualOrderById(
+                december.atDay(1), december.atEndOfMonth(), 60L)).thenReturn(Stream.empty());
+
+        snapshotService.onTransactionsArchived(new TransactionsArchivedEvent(december, Map.of(CUSTOMER_ID, 90), Map.of(CUSTOMER_ID, 2)));
+
+        verify(snapshotRepository).deleteByMonth("2024-12");
+        ArgumentCaptor<List<MonthlyRewardSnapshot>> saved = ArgumentCaptor.forClass(List.class);
+        verify(snapshotRepository).saveAll(saved.capture());
+        assertEquals(Map.of(1, 50, 28, 40), saved.getValue().get(0).getPointsByDay());
+        ArgumentCaptor<JournalCheckpoint> checkpoint = ArgumentCaptor.forClass(JournalCheckpoint.class);
+        verify(checkpointRepository).save(checkpoint.capture());
+        assertEquals("snapshot:through:2024-12", checkpoint.getValue().getJournalName());
+        assertEquals(60L, checkpoint.getValue().getPosition());
+    }
+
+    /**
+     * Tests that archiving a month that is not closed yet leaves the snapshots alone.
+     */
+    @Test
+    void testOnTransactionsArchived_IgnoresOpenMonths() {
+        snapshotService.onTransactionsArchived(new TransactionsArchivedEvent(YearMonth.of(2025, 3), Map.of(), Map.of()));
+
+        verifyNoInteractions(snapshotRepository, archiveService);
+    }
+
+    private static Transaction ingested(long sequence, double amount, LocalDate date) {
+        Transaction transaction = new Transaction(sequence, CUSTOMER_ID, amount, date);
+        ReflectionTestUtils.setField(transaction, "ingestSequence", sequence);
+        return transaction;
+    }
+
+    private static MonthlyRewardSnapshot snapshot(String month, Map<Integer, Integer> pointsByDay) {
+        return new MonthlyRewardSnapshot(CUSTOMER_ID, month, new TreeMap<>(pointsByDay), pointsByDay.size(), LocalDate.now());
+    }
+}
@@ -0,0 +1,160 @@
+package com.reward.app.service;
+
+import com.reward.app.model.JournalCheckpoint;
+import com.reward.app.model.Transaction;
+import com.reward.app.pipeline.PointsAccrualPipeline;
+import com.reward.app.repository.JournalCheckpointRepository;
+import com.reward.app.repository.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test class for {@link TransactionArchiveService}.
+ * <p>
+ * Verifies that expired months are written to their archive files, deleted from the table
+ * and can be read back for historical recomputes, and that the source positions they were read up to
+ * survive a restart.
+ * </p>
+ */
+@ExtendWith(MockitoExtension.class)
+class TransactionArchiveServiceTest {
+
+    private static final YearMonth MAY_2024 = YearMonth.of(2024, 5);
+
+    @InjectMocks
+    private TransactionArchiveService archiveService;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private JournalCheckpointRepository checkpointRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private PointsAccrualPipeline accrualPipeline;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @TempDir
+    Path archiveDir;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(archiveService, "archiveDir", archiveDir.toString());
+        ReflectionTestUtils.setField(archiveService, "retentionMonths", 12);
+    }
+
+    /**
+     * Tests that only months before the cutoff are archived and then removed from the table.
+     */
+    @Test
+    void testArchiveMonthsBefore_ArchivesExpiredMonthOnly() {
+        List<Transaction> may = List.of(
+                new Transaction(1L, "C001", 85.0, LocalDate.of(2024, 5, 12)),
+                new Transaction(2L, "C002", 120.0, LocalDate.of(2024, 5, 20)));
+        when(transactionRepository.findFirstByOrderByTransactionDateAsc())
+                .thenReturn(Optional.of(may.get(0)))
+                .thenReturn(Optional.of(new Transaction(3L, "C001", 95.0, LocalDate.of(2025, 1, 5))));
+        when(transactionRepository.streamByTransactionDateBetweenOrderById(MAY_2024.atDay(1), MAY_2024.atEndOfMonth()))
+                .thenReturn(may.stream());
+        when(transactionRepository.deleteByTransactionDateBetween(MAY_2024.atDay(1), MAY_2024.atEndOfMonth()))
+                .thenReturn(2);
+
+        int archived = archiveService.archiveMonthsBefore(YearMonth.of(2024, 10));
+
+        assertEquals(2, archived);
+        assertEquals(List.of(MAY_2024), List.copyOf(archiveService.getArchivedMonths()));
+        List<Transaction> restored = archiveService.findArchivedTransactions("C001", MAY_2024);
+        assertEquals(1, restored.size());
+        assertEquals(85.0, restored.get(0).getAmountSpent());
+        assertEquals(LocalDate.of(2024, 5, 12), restored.get(0).getTransactionDate());
+        verify(transactionRepository, times(1)).deleteByTransactionDateBetween(any(), any());
+        verify(accrualPipeline).notifyBalancesChanged(Set.of("C001", "C002"));
+        verify(eventPublisher).publishEvent(new TransactionsArchivedEvent(MAY_2024,
+                Map.of("C001", 35, "C002", 90), Map.of("C001", 1, "C002", 1)));
+    }
+
+    /**
+     * Tests that archiving the same month twice appends to the archive instead of overwriting it.
+     */
+    @Test
+    void testArchiveMonth_AppendsToExistingArchive() {
+        when(transactionRepository.streamByTransactionDateBetweenOrderById(any(), any()))
+                .thenReturn(Stream.of(new Transaction(1L, "C001", 60.0, LocalDate.of(2024, 5, 1))))
+                .thenReturn(Stream.of(new Transaction(9L, "C001", 70.0, LocalDate.of(2024, 5, 31))));
+        when(transactionRepository.deleteByTransactionDateBetween(any(), any())).thenReturn(1);
+
+        archiveService.archiveMonth(MAY_2024);
+        archiveService.archiveMonth(MAY_2024);
+
+        assertEquals(2, archiveService.findArchivedTransactions(null, MAY_2024).size());
+        assertEquals(1, archiveService.findArchivedTransactions("C001",
+                LocalDate.of(2024, 5, 15), LocalDate.of(2024, 6, 30)).size());
+    }
+
+    /**
+     * Tests that the source positions locked while archiving identify the archived records, also after a restart.
+     */
+    @Test
+    void testArchiveMonth_RecordsSourcePositions() {
+        when(checkpointRepository.findForUpdateByJournalNameOrJournalNameStartingWith("transactions", "ingest:"))
+                .thenReturn(List.of(new JournalCheckpoint("transactions", 120L), new JournalCheckpoint("ingest:upstream.ndjson", 40L)));
+        when(transactionRepository.streamByTransactionDateBetweenOrderById(any(), any()))
+                .thenReturn(Stream.of(new Transaction(1L, "C001", 60.0, LocalDate.of(2024, 5, 1))));
+        when(transactionRepository.deleteByTransactionDateBetween(any(), any())).thenReturn(1);
+
+        archiveService.archiveMonth(MAY_2024);
+        TransactionArchiveService restarted = new TransactionArchiveService();
+        ReflectionTestUtils.setField(restarted, "archiveDir", archiveDir.toString());
+
+        for (TransactionArchiveService service : List.of(archiveService, restarted)) {
+            assertTrue(service.isArchived("transactions", 120L, LocalDate.of(2024, 5, 31)));
+            assertFalse(service.isArchived("transactions", 121L, LocalDate.of(2024, 5, 31)));
+            assertTrue(service.isArchived("ingest:upstream.ndjson", 40L, LocalDate.of(2024, 5, 2)));
+            assertFalse(service.isArchived("ingest:other.ndjson", 1L, LocalDate.of(2024, 5, 2)));
+            assertFalse(service.isArchived("transactions", 1L, LocalDate.of(2024, 6, 1)));
+        }
+    }
+
+    /**
+     * Tests that a failed delete rolls the archive back so a retry does not duplicate rows.
+     */
+    @Test
+    void testArchiveMonth_FailedDeleteRollsBackArchive() {
+        when(transactionRepository.streamByTransactionDateBetweenOrderById(any(), any()))
+                .thenReturn(Stream.of(new Transaction(1L, "C001", 60.0, LocalDate.of(2024, 5, 1))));
+        when(transactionRepository.deleteByTransactionDateBetween(any(), any())).thenReturn(0);
+
+        assertThrows(IllegalStateException.class, () -> archiveService.archiveMonth(MAY_2024));
+
+        assertFalse(Files.exists(archiveDir.resolve("transactions-2024-05.ndjson.gz")));
+        assertFalse(Files.exists(archiveDir.resolve("transactions-2024-05.positions")));
+        assertTrue(archiveService.getArchivedMonths().isEmpty());
+    }
+}
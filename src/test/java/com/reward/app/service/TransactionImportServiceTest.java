@@ -0,0 +1,126 @@
+package com.reward.app.service;
+
+import com.reward.app.exception.RewardProcessingException;
+import com.reward.app.pipeline.PointsAccrualPipeline;
+import com.reward.app.response.ImportSummaryResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test class for {@link TransactionImportService}.
+ * <p>
+ * Verifies row-by-row parsing of CSV and NDJSON uploads, validation of rejected rows and
+ * batched JDBC writes published to the accrual pipeline.
+ * </p>
+ */
+@ExtendWith(MockitoExtension.class)
+class TransactionImportServiceTest {
+
+    @InjectMocks
+    private TransactionImportService importService;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private CustomerDictionary customerDictionary;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private PointsAccrualPipeline accrualPipeline;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(importService, "batchSize", 2);
+        lenient().when(customerDictionary.getOrCreateKey(anyString())).thenAnswer(call -> call.<String>getArgument(0).hashCode());
+    }
+
+    /**
+     * Tests that valid CSV rows are written in batches and invalid rows are counted with their line numbers.
+     */
+    @Test
+    void testImportCsv_AcceptsValidRowsAndRejectsInvalidOnes() {
+        String csv = """
+                transactionDate,customerId,amountSpent
+                2025-01-05,C001,120.00
+                2025-01-06,"C,002",80
+
+                2025-01-07,C003,-5
+                not-a-date,C004,10
+                2025-01-08,C005,75.5
+                """;
+
+        ImportSummaryResponse summary = importService.importTransactions(stream(csv), TransactionImportService.Format.CSV);
+
+        assertEquals(3, summary.getAcceptedRows());
+        assertEquals(2, summary.getRejectedRows());
+        assertEquals(List.of("line 5: Amount spent cannot be negative: -5.0"), summary.getSampleRejections().subList(0, 1));
+        assertTrue(summary.getSampleRejections().get(1).startsWith("line 6: Unparseable row"));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> batches = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), batches.capture());
+        Object[] second = batches.getAllValues().get(0).get(1);
+        assertEquals("C,002".hashCode(), second[0]);
+        assertEquals(Date.valueOf(LocalDate.of(2025, 1, 6)), second[2]);
+        verify(accrualPipeline, times(3)).publishAdded(any());
+    }
+
+    /**
+     * Tests that NDJSON uploads are parsed line by line and malformed lines do not stop the import.
+     */
+    @Test
+    void testImportNdjson_SkipsMalformedLines() {
+        String ndjson = """
+                {"customerId":"C001","amountSpent":120,"transactionDate":"2025-01-05"}
+                {"customerId":"C001","amountSpent":
+                {"customerId":"","amountSpent":60,"transactionDate":"2025-01-05"}
+                {"customerId":"C002","amountSpent":60,"transactionDate":"2025-01-06"}
+                """;
+
+        ImportSummaryResponse summary = importService.importTransactions(stream(ndjson), TransactionImportService.Format.NDJSON);
+
+        assertEquals(2, summary.getAcceptedRows());
+        assertEquals(2, summary.getRejectedRows());
+        assertEquals("line 3: Customer ID cannot be null or empty", summary.getSampleRejections().get(1));
+        verify(jdbcTemplate, times(1)).batchUpdate(eq("insert into transaction (customer_key, amount_spent, transaction_date) values (?, ?, ?)"), anyList());
+    }
+
+    /**
+     * Tests that a CSV upload without the required header is rejected before anything is written.
+     */
+    @Test
+    void testImportCsv_MissingHeader() {
+        assertThrows(RewardProcessingException.class, () -> importService.importTransactions(
+                stream("C001,120,2025-01-05\n"), TransactionImportService.Format.CSV));
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    private static InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,110 @@
+package com.reward.app.simulation;
+
+import com.reward.app.dto.RewardRuleSet;
+import com.reward.app.dto.RewardTier;
+import com.reward.app.exception.RewardProcessingException;
+import com.reward.app.service.RewardPointsCalculator;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test class for the {@link RewardRuleEvaluator} implementations.
+ * <p>
+ * Verifies that the baseline tier table reproduces {@link RewardPointsCalculator} and that the
+ * vectorized and scalar evaluators agree, including the scalar tail of each month segment.
+ * </p>
+ */
+class RewardRuleEvaluatorTest {
+
+    private static final List<TierTable> RULES = List.of(
+            TierTable.compile(TierTable.CURRENT_RULES),
+            TierTable.compile(new RewardRuleSet("generous", List.of(new RewardTier(100, 3), new RewardTier(25, 1)))),
+            TierTable.compile(new RewardRuleSet("three-tier",
+                    List.of(new RewardTier(0, 1), new RewardTier(40, 2), new RewardTier(200, 5)))));
+
+    /**
+     * Tests that the compiled current rules award exactly what the production calculator awards.
+     */
+    @Test
+    void testCurrentRules_MatchCalculator() {
+        TierTable current = RULES.get(0);
+        for (int dollars = 0; dollars <= 1_000; dollars++) {
+            assertEquals(RewardPointsCalculator.calculatePoints(dollars + 0.99), current.points(dollars), "amount " + dollars);
+        }
+    }
+
+    /**
+     * Tests that both evaluators produce identical monthly totals for odd-sized month segments.
+     */
+    @Test
+    void testEvaluate_VectorMatchesScalar() {
+        Random random = new Random(42);
+        TransactionColumns.Builder builder = new TransactionColumns.Builder();
+        for (int i = 0; i < 10_007; i++) {
+            builder.add(random.nextDouble() * 500, LocalDate.of(2025, 1 + random.nextInt(5), 1 + random.nextInt(28)));
+        }
+        builder.add(-5.0, LocalDate.of(2025, 1, 1));
+        TransactionColumns columns = builder.build();
+
+        long[][] scalar = new ScalarRewardRuleEvaluator().evaluate(columns, RULES);
+        long[][] vector = new VectorRewardRuleEvaluator().evaluate(columns, RULES);
+
+        assertEquals(10_007, columns.size());
+        assertEquals(1, columns.getSkipped());
+        assertEquals(YearMonth.of(2025, 1), columns.getMonths()[0]);
+        for (int r = 0; r < RULES.size(); r++) {
+            assertArrayEquals(scalar[r], vector[r], RULES.get(r).getName());
+        }
+    }
+
+    /**
+     * Tests that amounts whose points exceed an {@code int} are evaluated exactly by both evaluators.
+     */
+    @Test
+    void testEvaluate_LargeAmountsDoNotOverflow() {
+        TierTable maxRate = TierTable.compile(new RewardRuleSet("max-rate", List.of(new RewardTier(0, TierTable.MAX_RATE))));
+        TransactionColumns.Builder builder = new TransactionColumns.Builder();
+        for (int i = 0; i < 64; i++) {
+            builder.add(i == 37 ? 50_000_000.0 : 10.0, LocalDate.of(2025, 1, 1));
+        }
+        TransactionColumns columns = builder.build();
+        long expected = 63 * 10L * TierTable.MAX_RATE + 50_000_000L * TierTable.MAX_RATE;
+
+        assertEquals(50_000_000L * TierTable.MAX_RATE, maxRate.points(50_000_000));
+        assertEquals(expected, new ScalarRewardRuleEvaluator().evaluate(columns, List.of(maxRate))[0][0]);
+        assertEquals(expected, new VectorRewardRuleEvaluator().evaluate(columns, List.of(maxRate))[0][0]);
+    }
+
+    /**
+     * Tests that many amounts that each fit a lane, but whose points overflow an {@code int} in total, agree in both evaluators.
+     */
+    @Test
+    void testEvaluate_LargeLaneSumsDoNotOverflow() {
+        TierTable maxRate = TierTable.compile(new RewardRuleSet("max-rate", List.of(new RewardTier(0, TierTable.MAX_RATE))));
+        TransactionColumns.Builder builder = new TransactionColumns.Builder();
+        for (int i = 0; i < 64; i++) {
+            builder.add(TierTable.MAX_INT_DOLLARS, LocalDate.of(2025, 1, 1));
+        }
+        TransactionColumns columns = builder.build();
+        long expected = 64L * TierTable.MAX_INT_DOLLARS * TierTable.MAX_RATE;
+
+        assertEquals(expected, new ScalarRewardRuleEvaluator().evaluate(columns, List.of(maxRate))[0][0]);
+        assertEquals(expected, new VectorRewardRuleEvaluator().evaluate(columns, List.of(maxRate))[0][0]);
+    }
+
+    /**
+     * Tests that rule sets with duplicate thresholds are rejected.
+     */
+    @Test
+    void testCompile_RejectsDuplicateThresholds() {
+        RewardRuleSet invalid = new RewardRuleSet("dup", List.of(new RewardTier(50, 1), new RewardTier(50, 2)));
+
+        assertThrows(RewardProcessingException.class, () -> TierTable.compile(invalid));
+    }
+}
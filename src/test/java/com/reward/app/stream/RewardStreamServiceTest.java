@@ -0,0 +1,163 @@
+package com.reward.app.stream;
+
+import com.reward.app.dto.RewardPointsDTO;
+import com.reward.app.exception.RewardProcessingException;
+import com.reward.app.pipeline.PointsAccrualPipeline;
+import com.reward.app.service.RewardService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test class for {@link RewardStreamService}.
+ * <p>
+ * Uses an emitter that records the events it is asked to send, to verify change-only delivery,
+ * latest-state conflation for slow consumers and heartbeats.
+ * </p>
+ */
+class RewardStreamServiceTest {
+
+    private static final String CUSTOMER_ID = "C001";
+
+    private RewardService rewardService;
+    private RewardStreamService streamService;
+
+    @BeforeEach
+    void setUp() {
+        rewardService = mock(RewardService.class);
+        streamService = new RewardStreamService(rewardService, mock(PointsAccrualPipeline.class), 10, 1, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        streamService.shutdown();
+    }
+
+    /**
+     * Tests that subscribers receive the current state on connect and later only states that changed.
+     */
+    @Test
+    void testStream_SendsOnlyChanges() throws Exception {
+        when(rewardService.getMonthlyRewards(CUSTOMER_ID)).thenReturn(rewards(90), rewards(90), rewards(115));
+        RecordingEmitter emitter = new RecordingEmitter(null);
+
+        streamService.subscribe(CUSTOMER_ID, emitter);
+        emitter.awaitEvents(1);
+        streamService.balanceChanged(CUSTOMER_ID); // Same points, must not be sent
+        verify(rewardService, timeout(5_000).times(2)).getMonthlyRewards(CUSTOMER_ID);
+        streamService.balanceChanged(CUSTOMER_ID);
+        emitter.awaitEvents(2);
+
+        assertEquals(List.of("rewards:90", "rewards:115"), emitter.events);
+        assertEquals(1, streamService.getSubscriberCount());
+    }
+
+    /**
+     * Tests that a consumer blocked on a send only receives the latest state once it catches up.
+     */
+    @Test
+    void testStream_SlowConsumerGetsLatestStateOnly() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(rewardService.getMonthlyRewards(CUSTOMER_ID)).thenReturn(rewards(10));
+        RecordingEmitter emitter = new RecordingEmitter(release);
+        streamService.subscribe(CUSTOMER_ID, emitter);
+        emitter.awaitEvents(1);
+
+        for (int points = 11; points <= 20; points++) {
+            when(rewardService.getMonthlyRewards(CUSTOMER_ID)).thenReturn(rewards(points));
+            streamService.balanceChanged(CUSTOMER_ID);
+            verify(rewardService, timeout(5_000).times(points - 9)).getMonthlyRewards(CUSTOMER_ID);
+        }
+        release.countDown();
+        emitter.awaitEvents(2);
+        Thread.sleep(100);
+
+        assertEquals(List.of("rewards:10", "rewards:20"), emitter.events);
+    }
+
+    /**
+     * Tests that the scheduled refresh sends an empty state once all points have left the window.
+     */
+    @Test
+    void testRefreshAll_PointsAgedOut() throws Exception {
+        when(rewardService.getMonthlyRewards(CUSTOMER_ID)).thenReturn(rewards(90))
+                .thenThrow(new RewardProcessingException("No transactions found", HttpStatus.NOT_FOUND));
+        RecordingEmitter emitter = new RecordingEmitter(null);
+        streamService.subscribe(CUSTOMER_ID, emitter);
+        emitter.awaitEvents(1);
+
+        streamService.refreshAll();
+        emitter.awaitEvents(2);
+
+        assertEquals(List.of("rewards:90", "rewards:0"), emitter.events);
+    }
+
+    /**
+     * Tests that idle streams receive heartbeat comments.
+     */
+    @Test
+    void testSendHeartbeats() throws Exception {
+        when(rewardService.getMonthlyRewards(CUSTOMER_ID)).thenReturn(rewards(5));
+        RecordingEmitter emitter = new RecordingEmitter(null);
+        streamService.subscribe(CUSTOMER_ID, emitter);
+        emitter.awaitEvents(1);
+
+        streamService.sendHeartbeats();
+        emitter.awaitEvents(2);
+
+        assertEquals("heartbeat", emitter.events.get(1));
+    }
+
+    private static RewardPointsDTO rewards(int points) {
+        return new RewardPointsDTO(CUSTOMER_ID, points, Map.of("2025-01", points));
+    }
+
+    /**
+     * Records sent events as {@code rewards:<totalPoints>} or {@code heartbeat}; optionally blocks the first send.
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final List<String> events = new CopyOnWriteArrayList<>();
+        private final CountDownLatch firstSendReleased;
+
+        private RecordingEmitter(CountDownLatch firstSendReleased) {
+            this.firstSendReleased = firstSendReleased;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            String event = builder.build().stream()
+                    .map(part -> part.getData() instanceof RewardPointsDTO dto ? "rewards:" + dto.getTotalPoints() : "")
+                    .collect(Collectors.joining());
+            events.add(event.isEmpty() ? "heartbeat" : event);
+            if (firstSendReleased != null && events.size() == 1) {
+                try {
+                    firstSendReleased.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        private void awaitEvents(int count) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (events.size() < count && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertTrue(events.size() >= count, "expected " + count + " events but got " + events);
+        }
+    }
+}